@@ -0,0 +1,47 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a .gz next to every .css and .js file under the given directory, keeping the original,
+ * for the resource chain to serve precompressed. Run by the build with the JDK's own launcher, so
+ * it does not depend on a gzip binary being installed.
+ *
+ * Usage: java scripts/GzipStaticAssets.java target/classes/static
+ */
+public class GzipStaticAssets {
+
+    public static void main(String[] args) throws IOException {
+        Path root = Path.of(args[0]);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        List<Path> assets;
+        try (Stream<Path> files = Files.walk(root)) {
+            assets = files
+                .filter(Files::isRegularFile)
+                .filter(file -> file.toString().endsWith(".css") || file.toString().endsWith(".js"))
+                .toList();
+        }
+        for (Path asset : assets) {
+            Path gzipped = asset.resolveSibling(asset.getFileName() + ".gz");
+            try (OutputStream out = new BestGzipOutputStream(Files.newOutputStream(gzipped))) {
+                Files.copy(asset, out);
+            }
+        }
+    }
+
+    private static class BestGzipOutputStream extends GZIPOutputStream {
+
+        BestGzipOutputStream(OutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
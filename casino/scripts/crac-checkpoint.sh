@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+#
+# Starts the jar on a CRaC-enabled JDK, warms it up with real games and takes
+# a checkpoint that can be restored with:
+#   java -XX:CRaCRestoreFrom=target/crac
+#
+# Usage: scripts/crac-checkpoint.sh [warm-up games]
+#
+# Expects Postgres and Redis from docker-compose.yml to be running and the jar
+# to be built with ./mvnw -DskipTests package. Everything passed on the
+# command line below is part of the checkpoint and cannot change on restore.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+source scripts/lib/casino-client.sh
+
+GAMES="${1:-500}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+EMAIL="crac-warmup@example.com"
+PASSWORD="Crac!Warmup2024"
+JAR="target/casino-0.0.1-SNAPSHOT.jar"
+CHECKPOINT_DIR="target/crac"
+
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "${WORK_DIR}"' EXIT
+
+rm -rf "${CHECKPOINT_DIR}"
+java -XX:CRaCCheckpointTo="${CHECKPOINT_DIR}" -jar "${JAR}" \
+    --server.port="${PORT}" --server.servlet.session.cookie.secure=false \
+    > "${WORK_DIR}/app.log" 2>&1 &
+APP_PID=$!
+
+until curl -sf -o /dev/null "${BASE_URL}/auth/login"; do
+    if ! kill -0 "${APP_PID}" 2>/dev/null; then
+        cat "${WORK_DIR}/app.log" >&2
+        exit 1
+    fi
+    sleep 0.2
+done
+
+register_user
+login
+
+played=0
+while ((played < GAMES)); do
+    if play_game; then
+        played=$((played + 1))
+    else
+        # Rate limited; wait for the bucket to refill.
+        sleep 1
+    fi
+done
+echo "Warmed up with ${played} games, taking checkpoint"
+
+jcmd "${APP_PID}" JDK.checkpoint
+wait "${APP_PID}" 2>/dev/null || true
+echo "Checkpoint written to ${CHECKPOINT_DIR}"
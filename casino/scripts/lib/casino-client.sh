@@ -0,0 +1,64 @@
+# Minimal curl client for the casino web app, shared by the scripts in this
+# directory. Callers set BASE_URL, EMAIL, PASSWORD and WORK_DIR.
+
+COOKIE_JAR=""
+CSRF_HEADER=""
+CSRF_TOKEN=""
+
+csrf_from_form() {
+    grep -o 'name="_csrf" value="[^"]*"' | head -n 1 | sed 's/.*value="\([^"]*\)"/\1/'
+}
+
+register_user() {
+    local jar="${WORK_DIR}/register.cookies"
+    local token
+    token="$(curl -sf -c "${jar}" -b "${jar}" "${BASE_URL}/auth/register" | csrf_from_form)"
+    curl -s -o /dev/null -c "${jar}" -b "${jar}" \
+        --data-urlencode "firstName=Benchmark" \
+        --data-urlencode "lastName=User" \
+        --data-urlencode "email=${EMAIL}" \
+        --data-urlencode "password=${PASSWORD}" \
+        --data-urlencode "confirmPassword=${PASSWORD}" \
+        --data-urlencode "_csrf=${token}" \
+        "${BASE_URL}/auth/register"
+}
+
+login() {
+    local token page
+    COOKIE_JAR="${WORK_DIR}/session.cookies"
+    rm -f "${COOKIE_JAR}"
+
+    token="$(curl -sf -c "${COOKIE_JAR}" -b "${COOKIE_JAR}" "${BASE_URL}/auth/login" | csrf_from_form)" || return 1
+    curl -sf -o /dev/null -c "${COOKIE_JAR}" -b "${COOKIE_JAR}" \
+        --data-urlencode "email=${EMAIL}" \
+        --data-urlencode "password=${PASSWORD}" \
+        --data-urlencode "_csrf=${token}" \
+        "${BASE_URL}/auth/login" || return 1
+
+    page="$(curl -sf -c "${COOKIE_JAR}" -b "${COOKIE_JAR}" "${BASE_URL}/game")" || return 1
+    CSRF_TOKEN="$(grep -o 'data-token="[^"]*"' <<< "${page}" | sed 's/.*="\([^"]*\)"/\1/')"
+    CSRF_HEADER="$(grep -o 'data-header="[^"]*"' <<< "${page}" | sed 's/.*="\([^"]*\)"/\1/')"
+    [[ -n "${CSRF_TOKEN}" ]]
+}
+
+post_json() {
+    curl -sf -c "${COOKIE_JAR}" -b "${COOKIE_JAR}" \
+        -H "Content-Type: application/json" \
+        -H "${CSRF_HEADER}: ${CSRF_TOKEN}" \
+        -d "$2" \
+        "${BASE_URL}$1"
+}
+
+# Initiates and reveals one game with a fresh client nonce.
+play_game() {
+    local nonce hash game_id
+    nonce="$(head -c 32 /dev/urandom | od -An -tx1 | tr -d ' \n')"
+    hash="$(printf '%s' "${nonce}" | sha256sum | cut -d ' ' -f 1)"
+    game_id="$(post_json /game "{\"clientNonceHash\":\"${hash}\"}" | grep -o '"gameId":[0-9]*' | cut -d ':' -f 2)" || return 1
+    post_json "/game/${game_id}/reveal" "{\"clientNonce\":\"${nonce}\"}" > /dev/null
+}
+
+# Logs in and initiates a game; succeeds only once POST /game returns 200.
+first_game() {
+    login && post_json /game "{\"clientNonceHash\":\"$(printf '%064d' 0)\"}" > /dev/null
+}
@@ -0,0 +1,135 @@
+#!/usr/bin/env bash
+#
+# Compares time to first successful POST /game and resident memory between
+# the JVM jar, the jar in the fast-start profile (schema checksum validation
+# only, lazy initialization), the native executable and a CRaC restore of
+# the jar. The schema is migrated once up front with the migrate run mode.
+#
+# Usage: scripts/startup-benchmark.sh [jvm|jvm-fast|native|crac|both|all] [runs]
+#
+# Expects Postgres and Redis from docker-compose.yml to be running and the
+# artifacts to be built:
+#   ./mvnw -DskipTests package               -> target/casino-0.0.1-SNAPSHOT.jar
+#   ./mvnw -Pnative -DskipTests package      -> target/casino
+#   scripts/crac-checkpoint.sh               -> target/crac
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+source scripts/lib/casino-client.sh
+
+MODE="${1:-both}"
+RUNS="${2:-5}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+EMAIL="startup-benchmark@example.com"
+PASSWORD="Startup!Benchmark2024"
+JAR="target/casino-0.0.1-SNAPSHOT.jar"
+NATIVE="target/casino"
+CHECKPOINT_DIR="target/crac"
+APP_ARGS=(--server.port="${PORT}" --server.servlet.session.cookie.secure=false)
+
+WORK_DIR="$(mktemp -d)"
+APP_PID=""
+
+cleanup() {
+    stop_app
+    rm -rf "${WORK_DIR}"
+}
+trap cleanup EXIT
+
+now_millis() {
+    date +%s%3N
+}
+
+start_app() {
+    case "$1" in
+        jvm) java -jar "${JAR}" "${APP_ARGS[@]}" > "${WORK_DIR}/app.log" 2>&1 & ;;
+        jvm-fast) java -jar "${JAR}" "${APP_ARGS[@]}" --spring.profiles.active=fast-start > "${WORK_DIR}/app.log" 2>&1 & ;;
+        native) "${NATIVE}" "${APP_ARGS[@]}" > "${WORK_DIR}/app.log" 2>&1 & ;;
+        crac) java -XX:CRaCRestoreFrom="${CHECKPOINT_DIR}" > "${WORK_DIR}/app.log" 2>&1 & ;;
+    esac
+    APP_PID=$!
+}
+
+stop_app() {
+    if [[ -n "${APP_PID}" ]] && kill -0 "${APP_PID}" 2>/dev/null; then
+        kill "${APP_PID}"
+        wait "${APP_PID}" 2>/dev/null || true
+    fi
+    APP_PID=""
+}
+
+wait_for_first_game() {
+    until first_game; do
+        if ! kill -0 "${APP_PID}" 2>/dev/null; then
+            echo "Application exited during startup, see log below" >&2
+            cat "${WORK_DIR}/app.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+}
+
+rss_kb() {
+    ps -o rss= -p "${APP_PID}" | tr -d ' '
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+benchmark() {
+    local mode="$1"
+    local times=() rss=()
+
+    for ((run = 1; run <= RUNS; run++)); do
+        local started
+        started="$(now_millis)"
+        start_app "${mode}"
+        wait_for_first_game
+        times+=("$(( $(now_millis) - started ))")
+        sleep 1
+        rss+=("$(rss_kb)")
+        stop_app
+        echo "  ${mode} run ${run}: ${times[-1]} ms to first POST /game, $(( rss[-1] / 1024 )) MiB RSS"
+    done
+
+    printf '%-8s median %6s ms to first POST /game, %5s MiB RSS\n' "${mode}" \
+        "$(printf '%s\n' "${times[@]}" | median)" \
+        "$(( $(printf '%s\n' "${rss[@]}" | median) / 1024 ))"
+}
+
+MODES=()
+case "${MODE}" in
+    jvm) MODES=(jvm) ;;
+    jvm-fast) MODES=(jvm-fast) ;;
+    native) MODES=(native) ;;
+    crac) MODES=(crac) ;;
+    both) MODES=(jvm native) ;;
+    all) MODES=(jvm jvm-fast native crac) ;;
+    *) echo "Usage: $0 [jvm|jvm-fast|native|crac|both|all] [runs]" >&2; exit 1 ;;
+esac
+
+for mode in "${MODES[@]}"; do
+    case "${mode}" in
+        jvm | jvm-fast) artifact="${JAR}" ;;
+        native) artifact="${NATIVE}" ;;
+        crac) artifact="${CHECKPOINT_DIR}" ;;
+    esac
+    if [[ ! -e "${artifact}" ]]; then
+        echo "Missing ${artifact}; build it first (see header of this script)" >&2
+        exit 1
+    fi
+done
+
+java -jar "${JAR}" migrate
+
+start_app "${MODES[0]}"
+until curl -sf -o /dev/null "${BASE_URL}/auth/login"; do sleep 0.2; done
+register_user
+stop_app
+
+for mode in "${MODES[@]}"; do
+    benchmark "${mode}"
+done
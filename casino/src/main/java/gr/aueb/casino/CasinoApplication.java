@@ -1,13 +1,28 @@
 package gr.aueb.casino;
 
+import java.util.Arrays;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+
+import gr.aueb.casino.migration.MigrationRunner;
+import gr.aueb.casino.sharding.ReshardingRunner;
 
 @SpringBootApplication
 public class CasinoApplication {
 
-	public static void main(String[] args) {
-		SpringApplication.run(CasinoApplication.class, args);
+	public static void main(String[] args) throws InterruptedException {
+		if (args.length > 0 && "migrate".equals(args[0])) {
+			System.exit(MigrationRunner.run(Arrays.copyOfRange(args, 1, args.length)));
+		}
+		if (args.length > 0 && "reshard".equals(args[0])) {
+			System.exit(ReshardingRunner.run(Arrays.copyOfRange(args, 1, args.length)));
+		}
+
+		SpringApplication application = new SpringApplication(CasinoApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
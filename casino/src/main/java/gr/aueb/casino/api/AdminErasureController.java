@@ -0,0 +1,34 @@
+package gr.aueb.casino.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import gr.aueb.casino.api.schemas.response.ErasureJobResponse;
+import gr.aueb.casino.service.ErasureService;
+import lombok.RequiredArgsConstructor;
+
+@Controller
+@RequestMapping("/admin/erasures")
+@RequiredArgsConstructor
+public class AdminErasureController {
+    private final ErasureService erasureService;
+
+    @PostMapping("/{userId}")
+    @ResponseBody
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ErasureJobResponse requestErasure(@PathVariable Long userId) {
+        return erasureService.request(userId);
+    }
+
+    @GetMapping("/{userId}")
+    @ResponseBody
+    public ErasureJobResponse getErasure(@PathVariable Long userId) {
+        return erasureService.getJob(userId);
+    }
+}
@@ -0,0 +1,69 @@
+package gr.aueb.casino.api;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import gr.aueb.casino.api.schemas.response.FlightRecordingResponse;
+import gr.aueb.casino.jfr.FlightRecorderService;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+
+@Controller
+@RequestMapping("/admin/jfr")
+@RequiredArgsConstructor
+public class AdminFlightRecorderController {
+    private final FlightRecorderService flightRecorderService;
+
+    @GetMapping
+    @ResponseBody
+    public FlightRecordingResponse getRecording() {
+        return toResponse(flightRecorderService.current());
+    }
+
+    @PostMapping("/start")
+    @ResponseBody
+    public FlightRecordingResponse startRecording() {
+        return toResponse(flightRecorderService.start());
+    }
+
+    @PostMapping("/stop")
+    @ResponseBody
+    public FlightRecordingResponse stopRecording() {
+        return toResponse(flightRecorderService.stop());
+    }
+
+    @GetMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dumpRecording() {
+        Path file = flightRecorderService.dump();
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+            .body(out -> {
+                try {
+                    Files.copy(file, out);
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            });
+    }
+
+    private FlightRecordingResponse toResponse(Recording recording) {
+        return new FlightRecordingResponse(
+            recording.getId(),
+            recording.getState().name(),
+            recording.getStartTime(),
+            recording.getStopTime(),
+            recording.getSize()
+        );
+    }
+}
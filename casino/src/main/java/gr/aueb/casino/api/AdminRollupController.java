@@ -0,0 +1,40 @@
+package gr.aueb.casino.api;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import gr.aueb.casino.api.schemas.response.GameRollupResponse;
+import gr.aueb.casino.service.GameRollupService;
+import lombok.RequiredArgsConstructor;
+
+@Controller
+@RequestMapping("/admin/rollups")
+@RequiredArgsConstructor
+public class AdminRollupController {
+    private final GameRollupService gameRollupService;
+
+    @GetMapping("/minutes")
+    @ResponseBody
+    public List<GameRollupResponse> getMinuteRollups(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to
+    ) {
+        return gameRollupService.getMinuteRollups(from, to);
+    }
+
+    @GetMapping("/days")
+    @ResponseBody
+    public List<GameRollupResponse> getDailyRollups(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to
+    ) {
+        return gameRollupService.getDailyRollups(from, to);
+    }
+}
@@ -1,5 +1,12 @@
 package gr.aueb.casino.api;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -7,15 +14,27 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import gr.aueb.casino.api.schemas.request.InitiateGameRequest;
 import gr.aueb.casino.api.schemas.request.RevealRequest;
+import gr.aueb.casino.api.schemas.response.GameHistoryPageResponse;
 import gr.aueb.casino.api.schemas.response.InitiateGameResponse;
+import gr.aueb.casino.api.schemas.response.PreIssuedGameResponse;
 import gr.aueb.casino.api.schemas.response.RevealResponse;
+import gr.aueb.casino.exception.custom.InvalidHistoryQueryException;
 import gr.aueb.casino.security.UserDetailsAdapter;
+import gr.aueb.casino.service.GameHistoryExportService;
+import gr.aueb.casino.service.GameInitiationIdempotencyService;
 import gr.aueb.casino.service.GameService;
+import gr.aueb.casino.service.PreIssuedGameRegistry;
+import gr.aueb.casino.service.RevealCoalescer;
+import gr.aueb.casino.service.UserStatsService;
+import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -24,10 +43,16 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class GameController {
     private final GameService gameService;
+    private final GameHistoryExportService gameHistoryExportService;
+    private final UserStatsService userStatsService;
+    private final GameInitiationIdempotencyService idempotencyService;
+    private final PreIssuedGameRegistry preIssuedGameRegistry;
+    private final RevealCoalescer revealCoalescer;
 
     @GetMapping
     public String gamePage(@AuthenticationPrincipal UserDetailsAdapter userDetails, Model model) {
         model.addAttribute("recentGames", gameService.getRecentGames(userDetails.getId()));
+        model.addAttribute("stats", userStatsService.getStats(userDetails.getId()));
         return "game";
     }
 
@@ -35,9 +60,16 @@ public class GameController {
     @ResponseBody
     public InitiateGameResponse initiateGame(
         @Valid @RequestBody InitiateGameRequest request,
+        @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
         @AuthenticationPrincipal UserDetailsAdapter userDetails
     ) {
-        return gameService.initiateGame(userDetails.getId(), request.clientNonceHash());
+        Long userId = userDetails.getId();
+        short diceCount = request.diceCountOrDefault();
+        if (idempotencyKey == null) {
+            return gameService.initiateGame(userId, request.clientNonceHash(), diceCount);
+        }
+        return idempotencyService.execute(userId, idempotencyKey, request.clientNonceHash() + ":" + diceCount,
+            () -> gameService.initiateGame(userId, request.clientNonceHash(), diceCount));
     }
 
     @PostMapping("/{id}/reveal")
@@ -45,8 +77,63 @@ public class GameController {
     public RevealResponse revealNonces(
         @PathVariable Long id,
         @Valid @RequestBody RevealRequest request,
+        @RequestParam(defaultValue = "false") boolean next,
+        @AuthenticationPrincipal UserDetailsAdapter userDetails,
+        HttpSession session
+    ) {
+        Long userId = userDetails.getId();
+        boolean claimed = request.clientNonceHash() != null && preIssuedGameRegistry.isOutstanding(session, id);
+        // Only the request whose reveal completed the game goes on, not a coalesced or replayed one
+        AtomicBoolean completedHere = new AtomicBoolean();
+        RevealResponse response = revealCoalescer.reveal(id, userId, request.clientNonce(), request.clientNonceHash(), () -> {
+            RevealResponse revealed = gameService.revealNonces(id, request.clientNonce(), request.clientNonceHash(), userId, claimed);
+            completedHere.set(!revealed.replayed());
+            return revealed;
+        });
+
+        if (claimed) {
+            preIssuedGameRegistry.release(session, id);
+        }
+        if (!completedHere.get() || !next || !preIssuedGameRegistry.isEnabled()) {
+            return response;
+        }
+        InitiateGameResponse nextGame = gameService.preIssueGame(userId, (short) response.diceCount());
+        Instant expiresAt = preIssuedGameRegistry.register(session, nextGame.gameId());
+        return response.withNextGame(new PreIssuedGameResponse(
+            nextGame.gameId(),
+            nextGame.serverNonceHash(),
+            response.diceCount(),
+            expiresAt.atZone(ZoneOffset.UTC)
+        ));
+    }
+
+    @GetMapping("/history")
+    @ResponseBody
+    public GameHistoryPageResponse getHistory(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
         @AuthenticationPrincipal UserDetailsAdapter userDetails
     ) {
-        return gameService.revealNonces(id, request.clientNonce(), userDetails.getId());
+        return gameService.getHistoryPage(userDetails.getId(), cursor, limit);
+    }
+
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+        @RequestParam(defaultValue = "ndjson") String format,
+        @AuthenticationPrincipal UserDetailsAdapter userDetails
+    ) {
+        Long userId = userDetails.getId();
+
+        return switch (format) {
+            case "ndjson" -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"game-history.ndjson\"")
+                .body(out -> gameHistoryExportService.exportNdjson(userId, out));
+            case "csv" -> ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"game-history.csv\"")
+                .body(out -> gameHistoryExportService.exportCsv(userId, out));
+            default -> throw new InvalidHistoryQueryException("Unsupported export format: " + format);
+        };
     }
 }
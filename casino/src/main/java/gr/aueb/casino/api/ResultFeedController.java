@@ -0,0 +1,30 @@
+package gr.aueb.casino.api;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import gr.aueb.casino.feed.ResultFeed;
+import lombok.RequiredArgsConstructor;
+
+@Controller
+@RequiredArgsConstructor
+public class ResultFeedController {
+    private final ResultFeed resultFeed;
+
+    @GetMapping(path = "/feed/results", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamResults(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return resultFeed.subscribe(lastEventId)
+            .map(emitter -> ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build());
+    }
+}
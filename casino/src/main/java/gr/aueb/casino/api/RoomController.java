@@ -0,0 +1,65 @@
+package gr.aueb.casino.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import gr.aueb.casino.api.schemas.request.JoinRoundRequest;
+import gr.aueb.casino.api.schemas.request.RevealRequest;
+import gr.aueb.casino.api.schemas.response.RoundEntryResponse;
+import gr.aueb.casino.api.schemas.response.RoundResponse;
+import gr.aueb.casino.security.UserDetailsAdapter;
+import gr.aueb.casino.service.RoomService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@Controller
+@RequestMapping("/rooms")
+@RequiredArgsConstructor
+public class RoomController {
+    private final RoomService roomService;
+
+    @GetMapping("/current")
+    @ResponseBody
+    public RoundResponse currentRound() {
+        return roomService.getCurrentRound();
+    }
+
+    @PostMapping("/{roundId}/entries")
+    @ResponseBody
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void join(
+        @PathVariable Long roundId,
+        @Valid @RequestBody JoinRoundRequest request,
+        @AuthenticationPrincipal UserDetailsAdapter userDetails
+    ) {
+        roomService.join(roundId, userDetails.getId(), request.clientNonceHash());
+    }
+
+    @PostMapping("/{roundId}/entries/reveal")
+    @ResponseBody
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void reveal(
+        @PathVariable Long roundId,
+        @Valid @RequestBody RevealRequest request,
+        @AuthenticationPrincipal UserDetailsAdapter userDetails
+    ) {
+        roomService.reveal(roundId, userDetails.getId(), request.clientNonce());
+    }
+
+    @GetMapping("/{roundId}/entries/me")
+    @ResponseBody
+    public RoundEntryResponse entry(
+        @PathVariable Long roundId,
+        @AuthenticationPrincipal UserDetailsAdapter userDetails
+    ) {
+        return roomService.getEntry(roundId, userDetails.getId());
+    }
+}
@@ -0,0 +1,21 @@
+package gr.aueb.casino.api.schemas;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Marks a hex-encoded nonce or hash. It stays a 64-character string in JSON and travels as raw
+ * bytes in formats that carry binary natively (CBOR), halving its size and skipping hex parsing.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotationsInside
+@JsonSerialize(using = HexNonceSerializer.class)
+@JsonDeserialize(using = HexNonceDeserializer.class)
+public @interface HexNonce {}
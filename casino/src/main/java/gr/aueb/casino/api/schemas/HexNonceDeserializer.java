@@ -0,0 +1,27 @@
+package gr.aueb.casino.api.schemas;
+
+import java.io.IOException;
+import java.util.HexFormat;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+public class HexNonceDeserializer extends StdDeserializer<String> {
+
+    public HexNonceDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return HexFormat.of().formatHex(parser.getBinaryValue());
+        }
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        return (String) context.handleUnexpectedToken(String.class, parser);
+    }
+}
@@ -0,0 +1,24 @@
+package gr.aueb.casino.api.schemas;
+
+import java.io.IOException;
+import java.util.HexFormat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+public class HexNonceSerializer extends StdSerializer<String> {
+
+    public HexNonceSerializer() {
+        super(String.class);
+    }
+
+    @Override
+    public void serialize(String value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (generator.canWriteBinaryNatively()) {
+            generator.writeBinary(HexFormat.of().parseHex(value));
+        } else {
+            generator.writeString(value);
+        }
+    }
+}
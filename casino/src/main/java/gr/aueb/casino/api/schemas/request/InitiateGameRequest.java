@@ -1,12 +1,26 @@
 package gr.aueb.casino.api.schemas.request;
 
+import gr.aueb.casino.api.schemas.HexNonce;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 
 public record InitiateGameRequest(
 
+    @NotNull(message = "Client nonce hash is required.")
     @Pattern(
         regexp = "^[a-f0-9]{64}$",
         message = "Client nonce hash must be a 64-character hexadecimal string."
     )
-    String clientNonceHash
-) {}
+    @HexNonce
+    String clientNonceHash,
+
+    @Min(value = 1, message = "Dice count must be between 1 and 10.")
+    @Max(value = 10, message = "Dice count must be between 1 and 10.")
+    Integer diceCount
+) {
+    public short diceCountOrDefault() {
+        return diceCount == null ? 1 : diceCount.shortValue();
+    }
+}
@@ -0,0 +1,12 @@
+package gr.aueb.casino.api.schemas.request;
+
+import jakarta.validation.constraints.Pattern;
+
+public record JoinRoundRequest(
+
+    @Pattern(
+        regexp = "^[a-f0-9]{64}$",
+        message = "Client nonce hash must be a 64-character hexadecimal string."
+    )
+    String clientNonceHash
+) {}
@@ -1,12 +1,23 @@
 package gr.aueb.casino.api.schemas.request;
 
+import gr.aueb.casino.api.schemas.HexNonce;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 
 public record RevealRequest(
 
+    @NotNull(message = "Client nonce is required.")
     @Pattern(
         regexp = "^[a-f0-9]{64}$",
         message = "Client nonce must be a 64-character hexadecimal string."
     )
-    String clientNonce
+    @HexNonce
+    String clientNonce,
+
+    @Pattern(
+        regexp = "^[a-f0-9]{64}$",
+        message = "Client nonce hash must be a 64-character hexadecimal string."
+    )
+    @HexNonce
+    String clientNonceHash
 ) {}
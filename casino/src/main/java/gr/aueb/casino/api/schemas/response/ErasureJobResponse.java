@@ -0,0 +1,11 @@
+package gr.aueb.casino.api.schemas.response;
+
+import java.time.OffsetDateTime;
+
+public record ErasureJobResponse(
+    long userId,
+    String stage,
+    long gamesErased,
+    OffsetDateTime requestedAt,
+    OffsetDateTime completedAt
+) {}
@@ -0,0 +1,11 @@
+package gr.aueb.casino.api.schemas.response;
+
+import java.time.Instant;
+
+public record FlightRecordingResponse(
+    long recordingId,
+    String state,
+    Instant startedAt,
+    Instant stoppedAt,
+    long sizeBytes
+) {}
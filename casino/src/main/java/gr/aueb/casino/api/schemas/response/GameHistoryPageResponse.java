@@ -0,0 +1,8 @@
+package gr.aueb.casino.api.schemas.response;
+
+import java.util.List;
+
+public record GameHistoryPageResponse(
+    List<GameHistoryResponse> games,
+    String nextCursor
+) {}
@@ -1,10 +1,18 @@
 package gr.aueb.casino.api.schemas.response;
 
 import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 public record GameHistoryResponse(
+    Long gameId,
     short serverRoll,
     short clientRoll,
     String outcome,
-    ZonedDateTime completedAt
+    ZonedDateTime completedAt,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<Integer> serverDice,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<Integer> clientDice
 ) {}
@@ -0,0 +1,11 @@
+package gr.aueb.casino.api.schemas.response;
+
+import java.time.OffsetDateTime;
+
+public record GameResultFeedResponse(
+    long gameId,
+    String outcome,
+    short serverRoll,
+    short clientRoll,
+    OffsetDateTime completedAt
+) {}
@@ -0,0 +1,15 @@
+package gr.aueb.casino.api.schemas.response;
+
+import java.time.OffsetDateTime;
+
+public record GameRollupResponse(
+    OffsetDateTime bucketStart,
+    long serverWins,
+    long clientWins,
+    long ties,
+    long expired,
+    long unrevealed,
+    long completed,
+    double expiredRate,
+    Long medianRevealMillis
+) {}
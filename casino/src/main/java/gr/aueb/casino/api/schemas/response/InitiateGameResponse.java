@@ -1,6 +1,9 @@
 package gr.aueb.casino.api.schemas.response;
 
+import gr.aueb.casino.api.schemas.HexNonce;
+
 public record InitiateGameResponse(
     Long gameId,
+    @HexNonce
     String serverNonceHash
 ) {}
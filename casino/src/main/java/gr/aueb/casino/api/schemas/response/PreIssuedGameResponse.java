@@ -0,0 +1,13 @@
+package gr.aueb.casino.api.schemas.response;
+
+import java.time.ZonedDateTime;
+
+import gr.aueb.casino.api.schemas.HexNonce;
+
+public record PreIssuedGameResponse(
+    Long gameId,
+    @HexNonce
+    String serverNonceHash,
+    int diceCount,
+    ZonedDateTime expiresAt
+) {}
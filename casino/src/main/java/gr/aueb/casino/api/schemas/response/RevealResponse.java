@@ -1,8 +1,41 @@
 package gr.aueb.casino.api.schemas.response;
 
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import gr.aueb.casino.api.schemas.HexNonce;
+
 public record RevealResponse(
     String gameOutcome,
     short serverRoll,
     short clientRoll,
-    String serverNonce
-) {}
+    @HexNonce
+    String serverNonce,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<Integer> serverDice,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<Integer> clientDice,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    PreIssuedGameResponse nextGame,
+    // the game had already been completed, by an earlier or concurrent reveal
+    @JsonIgnore
+    boolean replayed
+) {
+    public RevealResponse(String gameOutcome, short serverRoll, short clientRoll, String serverNonce, List<Integer> serverDice, List<Integer> clientDice) {
+        this(gameOutcome, serverRoll, clientRoll, serverNonce, serverDice, clientDice, null, false);
+    }
+
+    public int diceCount() {
+        return serverDice == null ? 1 : serverDice.size();
+    }
+
+    public RevealResponse withNextGame(PreIssuedGameResponse nextGame) {
+        return new RevealResponse(gameOutcome, serverRoll, clientRoll, serverNonce, serverDice, clientDice, nextGame, replayed);
+    }
+
+    public RevealResponse asReplay() {
+        return new RevealResponse(gameOutcome, serverRoll, clientRoll, serverNonce, serverDice, clientDice, nextGame, true);
+    }
+}
@@ -0,0 +1,10 @@
+package gr.aueb.casino.api.schemas.response;
+
+public record RoundEntryResponse(
+    Long roundId,
+    boolean revealed,
+    String outcome,
+    Short serverRoll,
+    Short clientRoll,
+    String serverNonce
+) {}
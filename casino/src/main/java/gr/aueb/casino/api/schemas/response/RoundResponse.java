@@ -0,0 +1,9 @@
+package gr.aueb.casino.api.schemas.response;
+
+import java.time.OffsetDateTime;
+
+public record RoundResponse(
+    Long roundId,
+    String serverNonceHash,
+    OffsetDateTime closesAt
+) {}
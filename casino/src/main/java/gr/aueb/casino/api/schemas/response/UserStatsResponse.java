@@ -0,0 +1,10 @@
+package gr.aueb.casino.api.schemas.response;
+
+public record UserStatsResponse(
+    long wins,
+    long losses,
+    long ties,
+    long expired,
+    int currentWinStreak,
+    int longestWinStreak
+) {}
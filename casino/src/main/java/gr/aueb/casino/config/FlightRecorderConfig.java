@@ -0,0 +1,18 @@
+package gr.aueb.casino.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import gr.aueb.casino.jfr.RecordingSessionSerializer;
+
+@Configuration
+public class FlightRecorderConfig {
+
+    // Spring Session picks up its attribute serializer by this bean name
+    @Bean
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer() {
+        return new RecordingSessionSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader()));
+    }
+}
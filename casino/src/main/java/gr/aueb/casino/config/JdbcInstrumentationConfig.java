@@ -0,0 +1,63 @@
+package gr.aueb.casino.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+
+import gr.aueb.casino.datasource.DataSourceInstrumentation;
+import gr.aueb.casino.datasource.QueryMetricsListener;
+import gr.aueb.casino.datasource.QueryTracingListener;
+import gr.aueb.casino.datasource.StatementCountFilter;
+
+@Configuration
+@ConditionalOnProperty(name = "casino.jdbc.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcInstrumentationConfig {
+
+    @Bean
+    public static DataSourceInstrumentation dataSourceInstrumentation(
+        ObjectProvider<MeterRegistry> meterRegistry,
+        ObjectProvider<Tracer> tracer,
+        @Value("${casino.jdbc.slow-query.threshold-ms:200}") long slowQueryThresholdMillis,
+        @Value("${casino.jdbc.slow-query.sample-rate:0.1}") double slowQuerySampleRate,
+        @Value("${casino.jdbc.max-statement-shapes:500}") int maxShapes
+    ) {
+        return new DataSourceInstrumentation(
+            new QueryMetricsListener(meterRegistry, slowQueryThresholdMillis, slowQuerySampleRate, maxShapes),
+            new QueryTracingListener(tracer)
+        );
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<DataSourceInstrumentation> instrumentation) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return instrumentation.getObject().instrument("casino", dataSource);
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(
+        MeterRegistry meterRegistry,
+        @Value("${casino.jdbc.statements-per-request-warn-threshold:20}") int warnThreshold
+    ) {
+        FilterRegistrationBean<StatementCountFilter> registration =
+            new FilterRegistrationBean<>(new StatementCountFilter(meterRegistry, warnThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,54 @@
+package gr.aueb.casino.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import gr.aueb.casino.loadshedding.AimdLimit;
+import gr.aueb.casino.loadshedding.Bulkhead;
+import gr.aueb.casino.loadshedding.ConcurrencyLimit;
+import gr.aueb.casino.loadshedding.LoadSheddingFilter;
+import gr.aueb.casino.loadshedding.LoadSheddingFilter.Route;
+
+@Configuration
+@ConditionalOnProperty(name = "casino.load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(
+        MeterRegistry meterRegistry,
+        @Value("${casino.load-shedding.game.initial-limit:20}") int initialLimit,
+        @Value("${casino.load-shedding.game.min-limit:4}") int minLimit,
+        @Value("${casino.load-shedding.game.max-limit:200}") int maxLimit,
+        @Value("${casino.load-shedding.game.latency-target-ms:250}") long latencyTargetMillis,
+        @Value("${casino.load-shedding.game.backoff-ratio:0.9}") double backoffRatio,
+        @Value("${casino.load-shedding.auth.max-concurrent:16}") int authMaxConcurrent,
+        @Value("${casino.load-shedding.pages.max-concurrent:32}") int pagesMaxConcurrent
+    ) {
+        Bulkhead gameApi = new Bulkhead("game-api",
+            new AimdLimit(initialLimit, minLimit, maxLimit, Duration.ofMillis(latencyTargetMillis), backoffRatio), meterRegistry);
+        Bulkhead auth = new Bulkhead("auth", ConcurrencyLimit.fixed(authMaxConcurrent), meterRegistry);
+        Bulkhead pages = new Bulkhead("pages", ConcurrencyLimit.fixed(pagesMaxConcurrent), meterRegistry);
+
+        LoadSheddingFilter filter = new LoadSheddingFilter(List.of(
+            new Route(null, List.of("/css/**", "/js/**", "/actuator/**", "/error"), null),
+            new Route("GET", List.of("/feed/results"), null),
+            new Route("GET", List.of("/game"), pages),
+            new Route(null, List.of("/game", "/game/**", "/rooms/**"), gameApi),
+            new Route(null, List.of("/auth/**"), auth),
+            new Route(null, List.of("/**"), pages)
+        ));
+
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,92 @@
+package gr.aueb.casino.config;
+
+import java.io.Serializable;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.security.web.savedrequest.DefaultSavedRequest;
+import org.springframework.security.web.savedrequest.SavedCookie;
+
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+
+import gr.aueb.casino.api.schemas.request.RegisterRequest;
+import gr.aueb.casino.api.schemas.response.GameHistoryResponse;
+import gr.aueb.casino.api.schemas.response.UserStatsResponse;
+import gr.aueb.casino.domain.Game;
+import gr.aueb.casino.domain.GameOutcomeConverter;
+import gr.aueb.casino.domain.GameStatusConverter;
+import gr.aueb.casino.domain.User;
+import gr.aueb.casino.domain.UserStats;
+import gr.aueb.casino.security.UserDetailsAdapter;
+
+@Configuration
+@ImportRuntimeHints(NativeRuntimeHints.Registrar.class)
+@RegisterReflectionForBinding({RegisterRequest.class, GameHistoryResponse.class, UserStatsResponse.class, UserDetailsAdapter.class})
+public class NativeRuntimeHints {
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                .registerPattern("templates/*.html")
+                .registerPattern("static/**")
+                .registerPattern("db/migration/*.sql")
+                .registerResourceBundle("org.postgresql.translation.messages");
+
+            for (Class<?> type : List.of(Game.class, User.class, UserStats.class, GameStatusConverter.class, GameOutcomeConverter.class)) {
+                hints.reflection().registerType(type,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+            hints.reflection().registerType(TypeReference.of("org.postgresql.Driver"), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            List<Class<? extends Serializable>> sessionTypes = List.of(
+                UserDetailsAdapter.class,
+                SecurityContextImpl.class,
+                UsernamePasswordAuthenticationToken.class,
+                SimpleGrantedAuthority.class,
+                WebAuthenticationDetails.class,
+                DefaultCsrfToken.class,
+                DefaultSavedRequest.class,
+                SavedCookie.class,
+                Long.class,
+                Integer.class,
+                Number.class,
+                ArrayList.class,
+                HashMap.class,
+                LinkedHashMap.class
+            );
+            sessionTypes.forEach(hints.serialization()::registerType);
+            hints.serialization().registerType(TypeReference.of("java.util.Collections$UnmodifiableRandomAccessList"));
+            hints.serialization().registerType(TypeReference.of("java.util.Collections$UnmodifiableList"));
+            hints.serialization().registerType(TypeReference.of("java.util.Collections$UnmodifiableCollection"));
+
+            for (Class<?> type : List.of(DataSource.class, Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class)) {
+                hints.proxies().registerJdkProxy(ProxyJdbcObject.class, type);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package gr.aueb.casino.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import gr.aueb.casino.datasource.CommittedWriteListener;
+import gr.aueb.casino.datasource.ReadYourWritesInterceptor;
+import gr.aueb.casino.datasource.ReplicaPool;
+import gr.aueb.casino.datasource.ReplicaRoutingDataSource;
+
+@Configuration
+@ConditionalOnProperty("casino.datasource.replica-urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource primaryDataSource(
+        DataSourceProperties properties,
+        Environment environment,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("primary");
+        meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(
+        DataSourceProperties properties,
+        Environment environment,
+        ObjectProvider<MeterRegistry> meterRegistry,
+        ConfigurableApplicationContext applicationContext,
+        @Value("${casino.datasource.replica-urls}") List<String> replicaUrls,
+        @Value("${casino.datasource.replica-max-lag-ms:1000}") long maxLagMillis
+    ) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(replicaUrls.get(i))
+                .build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaPool(replicas, maxLagMillis, applicationContext);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaPool));
+        return dataSource;
+    }
+
+    @Bean
+    public CommittedWriteListener committedWriteListener() {
+        return new CommittedWriteListener();
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(
+        @Value("${casino.datasource.read-your-writes-window-ms:5000}") long windowMillis
+    ) {
+        return new ReadYourWritesInterceptor(windowMillis);
+    }
+}
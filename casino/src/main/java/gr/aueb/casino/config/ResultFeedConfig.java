@@ -0,0 +1,36 @@
+package gr.aueb.casino.config;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import gr.aueb.casino.feed.ResultFeed;
+
+@Configuration
+@ConditionalOnProperty(name = "casino.feed.fan-out", havingValue = "redis", matchIfMissing = true)
+public class ResultFeedConfig {
+
+    @Bean
+    public RedisMessageListenerContainer resultFeedListenerContainer(
+        RedisConnectionFactory connectionFactory,
+        ResultFeed resultFeed,
+        @Value("${casino.feed.channel:casino:game-results}") String channel
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // delivery only queues frames, so it can run on the subscription thread and keep publish order
+        container.setTaskExecutor(new SyncTaskExecutor());
+        container.addMessageListener(
+            (message, pattern) -> resultFeed.onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(channel)
+        );
+        return container;
+    }
+}
@@ -0,0 +1,57 @@
+package gr.aueb.casino.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import gr.aueb.casino.datasource.DataSourceInstrumentation;
+import gr.aueb.casino.persistence.ShardedGameStore;
+import gr.aueb.casino.sharding.ShardDataSources;
+import gr.aueb.casino.sharding.ShardRouter;
+
+@Configuration
+@ConditionalOnProperty(name = "casino.game-store", havingValue = "sharded")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRouter shardRouter(
+        JdbcTemplate jdbcTemplate,
+        @Value("${casino.sharding.shard-urls}") List<String> shardUrls,
+        @Value("${casino.sharding.virtual-nodes:128}") int virtualNodes
+    ) {
+        return new ShardRouter(jdbcTemplate, shardUrls.size(), virtualNodes);
+    }
+
+    @Bean
+    public ShardedGameStore shardedGameStore(
+        ShardRouter shardRouter,
+        DataSourceProperties properties,
+        Environment environment,
+        ObjectProvider<MeterRegistry> meterRegistry,
+        ObjectProvider<DataSourceInstrumentation> instrumentation,
+        ConfigurableApplicationContext applicationContext,
+        @Value("${casino.sharding.shard-urls}") List<String> shardUrls,
+        @Value("${casino.startup.schema:migrate}") String schemaMode
+    ) {
+        List<HikariDataSource> shards = ShardDataSources.create(properties, environment, shardUrls, meterRegistry.getIfAvailable());
+        ShardDataSources.migrate(shards, schemaMode);
+        DataSourceInstrumentation shardInstrumentation = instrumentation.getIfAvailable();
+        List<DataSource> statementSources = shards.stream()
+            .map(shard -> shardInstrumentation == null ? shard : shardInstrumentation.instrument(shard.getPoolName(), shard))
+            .toList();
+        return new ShardedGameStore(shardRouter, shards, statementSources, applicationContext);
+    }
+}
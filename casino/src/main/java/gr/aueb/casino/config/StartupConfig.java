@@ -0,0 +1,71 @@
+package gr.aueb.casino.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.web.SecurityFilterChain;
+
+import gr.aueb.casino.api.GameController;
+import gr.aueb.casino.datasource.ReplicaPool;
+import gr.aueb.casino.feed.ResultFeed;
+import gr.aueb.casino.outbox.OutboxRelay;
+import gr.aueb.casino.ratelimit.RateLimiter;
+import gr.aueb.casino.security.SecureRandomReseeder;
+import gr.aueb.casino.security.UserDetailsServiceImpl;
+import gr.aueb.casino.service.ErasureScheduler;
+import gr.aueb.casino.service.GameInitiationIdempotencyService;
+import gr.aueb.casino.service.GameRollupService;
+import gr.aueb.casino.service.GameService;
+import gr.aueb.casino.service.RoomRoundScheduler;
+import gr.aueb.casino.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${casino.startup.schema:migrate}") String schemaMode) {
+        return switch (schemaMode) {
+            case "migrate" -> flyway -> flyway.migrate();
+            case "validate" -> flyway -> {
+                flyway.validate();
+                log.info("Schema is at version {}, migrations are left to the migrate run mode", flyway.info().current().getVersion());
+            };
+            default -> throw new IllegalStateException("Unknown casino.startup.schema mode " + schemaMode + ".");
+        };
+    }
+
+    @Bean
+    public static LazyInitializationExcludeFilter hotPathBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+            SecurityFilterChain.class,
+            UserDetailsServiceImpl.class,
+            GameController.class,
+            GameService.class,
+            RateLimiter.class,
+            GameInitiationIdempotencyService.class,
+            GameRollupService.class,
+            ReplicaPool.class,
+            OutboxRelay.class,
+            RoomRoundScheduler.class,
+            SecureRandomReseeder.class,
+            ShardRouter.class,
+            ErasureScheduler.class,
+            ResultFeed.class
+        );
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        var environment = event.getApplicationContext().getEnvironment();
+        log.info("Ready to serve in {} ms (schema {}, lazy initialization {})",
+            event.getTimeTaken().toMillis(),
+            environment.getProperty("casino.startup.schema", "migrate"),
+            environment.getProperty("spring.main.lazy-initialization", "false"));
+    }
+}
@@ -0,0 +1,43 @@
+package gr.aueb.casino.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanExporters;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import gr.aueb.casino.tracing.TailSamplingSpanExporter;
+
+@Configuration
+public class TracingConfig {
+
+    // Replaces Boot's SpanExporters so the OTLP exporter (and any other) only sees tail-sampled traces
+    @Bean
+    public SpanExporters spanExporters(
+        ObjectProvider<SpanExporter> exporters,
+        @Value("${casino.tracing.tail-sampling.latency-threshold-ms:500}") long latencyThresholdMillis,
+        @Value("${casino.tracing.tail-sampling.baseline-ratio:0.01}") double baselineRatio,
+        @Value("${casino.tracing.tail-sampling.max-trace-age-seconds:30}") long maxTraceAgeSeconds,
+        @Value("${casino.tracing.tail-sampling.max-pending-traces:10000}") int maxPendingTraces
+    ) {
+        return SpanExporters.of(new TailSamplingSpanExporter(
+            exporters.orderedStream().toList(),
+            Duration.ofMillis(latencyThresholdMillis),
+            baselineRatio,
+            Duration.ofSeconds(maxTraceAgeSeconds),
+            maxPendingTraces
+        ));
+    }
+
+    @Bean
+    public ClientResourcesBuilderCustomizer redisTracingCustomizer(ObservationRegistry observationRegistry) {
+        return builder -> builder.tracing(new MicrometerTracing(observationRegistry, "redis"));
+    }
+}
@@ -0,0 +1,18 @@
+package gr.aueb.casino.datasource;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Notes on the request thread that a read-write transaction has committed, so that
+ * {@link ReadYourWritesInterceptor} only pins the session to the primary after an actual write.
+ */
+public class CommittedWriteListener implements TransactionExecutionListener {
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            ReplicaRoutingContext.recordCommittedWrite();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package gr.aueb.casino.datasource;
+
+import javax.sql.DataSource;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Wraps a data source so its statements are timed per shape and traced. The listeners are shared,
+ * so the primary and every shard count against one statement-shape bound.
+ */
+public class DataSourceInstrumentation {
+    private final QueryMetricsListener metricsListener;
+    private final QueryTracingListener tracingListener;
+
+    public DataSourceInstrumentation(QueryMetricsListener metricsListener, QueryTracingListener tracingListener) {
+        this.metricsListener = metricsListener;
+        this.tracingListener = tracingListener;
+    }
+
+    public DataSource instrument(String name, DataSource dataSource) {
+        return ProxyDataSourceBuilder.create(name, dataSource)
+            .listener(metricsListener)
+            .listener(tracingListener)
+            .proxyResultSet()
+            .build();
+    }
+}
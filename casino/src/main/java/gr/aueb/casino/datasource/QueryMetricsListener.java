@@ -0,0 +1,145 @@
+package gr.aueb.casino.datasource;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class QueryMetricsListener extends JdbcLifecycleEventListenerAdapter {
+    private static final String OVERFLOW_SHAPE = "other";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final long slowQueryThresholdMillis;
+    private final double slowQuerySampleRate;
+    private final int maxShapes;
+    private final ConcurrentHashMap<String, String> shapes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+    private final ThreadLocal<PendingRows> pendingRows = new ThreadLocal<>();
+    private volatile MeterRegistry meterRegistry;
+
+    public QueryMetricsListener(
+        ObjectProvider<MeterRegistry> meterRegistryProvider,
+        long slowQueryThresholdMillis,
+        double slowQuerySampleRate,
+        int maxShapes
+    ) {
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+        this.slowQuerySampleRate = slowQuerySampleRate;
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        flushPendingRows();
+        MeterRegistry registry = registry();
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            RequestStatementCounter.increment();
+            String shape = shapeOf(queryInfo.getQuery());
+
+            if (registry != null) {
+                timer(registry, shape, execInfo.isSuccess()).record(execInfo.getElapsedTime(), TimeUnit.MILLISECONDS);
+            }
+            if (execInfo.getElapsedTime() >= slowQueryThresholdMillis
+                && ThreadLocalRandom.current().nextDouble() < slowQuerySampleRate) {
+                log.warn("Slow query ({} ms, batch size {}, {} parameter(s) redacted): {}",
+                    execInfo.getElapsedTime(), execInfo.getBatchSize(), parameterCount(queryInfo), shape);
+            }
+        }
+
+        if (execInfo.getResult() instanceof ResultSet && queryInfoList.size() == 1) {
+            pendingRows.set(new PendingRows(shapeOf(queryInfoList.get(0).getQuery())));
+        }
+    }
+
+    @Override
+    public void afterNext(MethodExecutionContext executionContext) {
+        PendingRows rows = pendingRows.get();
+        if (rows != null && Boolean.TRUE.equals(executionContext.getResult())) {
+            rows.count++;
+        }
+    }
+
+    @Override
+    public void afterClose(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet) {
+            flushPendingRows();
+        }
+    }
+
+    private void flushPendingRows() {
+        PendingRows rows = pendingRows.get();
+        if (rows == null) {
+            return;
+        }
+        pendingRows.remove();
+
+        MeterRegistry registry = registry();
+        if (registry != null) {
+            rowSummaries.computeIfAbsent(rows.shape, shape -> DistributionSummary.builder("jdbc.statement.rows")
+                .description("Rows read from the result set of a statement")
+                .tag("shape", shape)
+                .register(registry)
+            ).record(rows.count);
+        }
+    }
+
+    private String shapeOf(String sql) {
+        String shape = shapes.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        if (shapes.size() >= maxShapes) {
+            return OVERFLOW_SHAPE;
+        }
+        return shapes.computeIfAbsent(sql, StatementShapes::normalize);
+    }
+
+    private Timer timer(MeterRegistry registry, String shape, boolean success) {
+        return timers.computeIfAbsent(shape + '|' + success, key -> Timer.builder("jdbc.statement")
+            .description("Execution time of a JDBC statement, excluding connection acquisition")
+            .tag("shape", shape)
+            .tag("success", String.valueOf(success))
+            .publishPercentileHistogram()
+            .register(registry)
+        );
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistryProvider.getIfAvailable();
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+    private static int parameterCount(QueryInfo queryInfo) {
+        return queryInfo.getParametersList().isEmpty() ? 0 : queryInfo.getParametersList().get(0).size();
+    }
+
+    private static final class PendingRows {
+        private final String shape;
+        private long count;
+
+        private PendingRows(String shape) {
+            this.shape = shape;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package gr.aueb.casino.datasource;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Opens a client span around every statement executed inside a traced request or job. Statements
+ * without a current span are left alone, so background polling does not start traces of its own.
+ * The span carries the normalized statement shape, never parameter values.
+ */
+public class QueryTracingListener implements QueryExecutionListener {
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+    private volatile Tracer tracer;
+
+    public QueryTracingListener(ObjectProvider<Tracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Tracer tracer = tracer();
+        if (tracer == null || tracer.currentSpan() == null) {
+            return;
+        }
+
+        String shape = queryInfoList.size() == 1 ? StatementShapes.normalize(queryInfoList.get(0).getQuery()) : "batch";
+        Span span = tracer.spanBuilder()
+            .name("jdbc " + operationOf(shape))
+            .kind(Span.Kind.CLIENT)
+            .tag("db.system", "postgresql")
+            .tag("db.statement", shape)
+            .start();
+        currentSpan.set(span);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Span span = currentSpan.get();
+        if (span == null) {
+            return;
+        }
+        currentSpan.remove();
+
+        if (execInfo.isBatch()) {
+            span.tag("db.batch.size", String.valueOf(execInfo.getBatchSize()));
+        }
+        if (!execInfo.isSuccess() && execInfo.getThrowable() != null) {
+            span.error(execInfo.getThrowable());
+        }
+        span.end();
+    }
+
+    private Tracer tracer() {
+        Tracer current = tracer;
+        if (current == null) {
+            current = tracerProvider.getIfAvailable();
+            tracer = current;
+        }
+        return current;
+    }
+
+    private static String operationOf(String shape) {
+        int end = shape.indexOf(' ');
+        return end < 0 ? shape : shape.substring(0, end);
+    }
+}
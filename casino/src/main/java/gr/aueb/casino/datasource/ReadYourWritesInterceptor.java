@@ -0,0 +1,58 @@
+package gr.aueb.casino.datasource;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Sends a session's reads to the primary for windowMillis after one of its requests committed a
+ * write, and a non-GET request's own reads there too. The window is only stored once a read-write
+ * transaction has committed, so requests that write nothing leave the session untouched.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+    private static final String PRIMARY_READS_UNTIL = "primaryReadsUntil";
+
+    private final long windowMillis;
+
+    public ReadYourWritesInterceptor(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingContext.clear();
+        if (!"GET".equals(request.getMethod())) {
+            ReplicaRoutingContext.requirePrimary();
+            return true;
+        }
+
+        HttpSession session = request.getSession(false);
+        if (session != null && session.getAttribute(PRIMARY_READS_UNTIL) instanceof Long until && System.currentTimeMillis() < until) {
+            ReplicaRoutingContext.requirePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        finish(request);
+    }
+
+    private void finish(HttpServletRequest request) {
+        try {
+            HttpSession session = request.getSession(false);
+            if (ReplicaRoutingContext.hasCommittedWrite() && session != null) {
+                session.setAttribute(PRIMARY_READS_UNTIL, System.currentTimeMillis() + windowMillis);
+            }
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package gr.aueb.casino.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.Lifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ReplicaPool implements DisposableBean, Lifecycle {
+    // NULL when no WAL receiver is running, i.e. the replica is cut off and its lag unknown
+    private static final String LAG_QUERY = """
+        SELECT CASE
+            WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE pid IS NOT NULL) THEN NULL
+            WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+            ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+        END
+        """;
+
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final List<HikariCheckpointRestoreLifecycle> checkpointRestoreLifecycles;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<HikariDataSource> dataSources, long maxLagMillis, ConfigurableApplicationContext applicationContext) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLagMillis;
+        this.checkpointRestoreLifecycles = dataSources.stream()
+            .map(dataSource -> new HikariCheckpointRestoreLifecycle(dataSource, applicationContext))
+            .toList();
+    }
+
+    public DataSource select() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica.dataSource;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${casino.datasource.replica-lag-check-interval-ms:1000}")
+    public void refreshLag() {
+        for (Replica replica : replicas) {
+            boolean available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                long lagMillis = (long) rs.getDouble(1);
+                if (rs.wasNull()) {
+                    available = false;
+                    if (replica.available) {
+                        log.warn("Replica {} is not receiving WAL from the primary, routing its reads to the primary", replica.dataSource.getPoolName());
+                    }
+                } else {
+                    available = lagMillis <= maxLagMillis;
+                    if (!available && replica.available) {
+                        log.warn("Replica {} is {} ms behind the primary, routing its reads to the primary", replica.dataSource.getPoolName(), lagMillis);
+                    }
+                }
+            } catch (Exception e) {
+                available = false;
+                if (replica.available) {
+                    log.warn("Replica {} is unreachable, routing its reads to the primary: {}", replica.dataSource.getPoolName(), e.getMessage());
+                }
+            }
+            replica.available = available;
+        }
+    }
+
+    @Override
+    public void start() {
+        checkpointRestoreLifecycles.forEach(HikariCheckpointRestoreLifecycle::start);
+    }
+
+    @Override
+    public void stop() {
+        checkpointRestoreLifecycles.forEach(HikariCheckpointRestoreLifecycle::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return checkpointRestoreLifecycles.stream().allMatch(HikariCheckpointRestoreLifecycle::isRunning);
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean available = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package gr.aueb.casino.datasource;
+
+public final class ReplicaRoutingContext {
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> COMMITTED_WRITE = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    public static void recordCommittedWrite() {
+        COMMITTED_WRITE.set(Boolean.TRUE);
+    }
+
+    public static boolean hasCommittedWrite() {
+        return Boolean.TRUE.equals(COMMITTED_WRITE.get());
+    }
+
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+        COMMITTED_WRITE.remove();
+    }
+}
@@ -30,12 +30,10 @@ public class Game {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "status_id", nullable = false)
+    @Column(name = "status_id", nullable = false)
     private GameStatus status;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "outcome_id")
+    @Column(name = "outcome_id")
     private GameOutcome outcome;
 
     @Column(name = "server_roll")
@@ -44,13 +42,22 @@ public class Game {
     @Column(name = "client_roll")
     private Short clientRoll;
 
+    @Column(name = "dice_count", nullable = false)
+    private short diceCount;
+
+    @Column(name = "server_dice")
+    private byte[] serverDice;
+
+    @Column(name = "client_dice")
+    private byte[] clientDice;
+
     @Column(name = "r_a", nullable = false, length = 64)
     private String serverNonce;
 
     @Column(name = "r_b", length = 64)
     private String clientNonce;
 
-    @Column(name = "client_nonce_hash", nullable = false, length = 64)
+    @Column(name = "client_nonce_hash", length = 64)
     private String clientNonceHash;
 
     @Column(name = "server_nonce_hash", nullable = false, length = 64)
@@ -62,12 +69,17 @@ public class Game {
     @Column(name = "completed_at")
     private ZonedDateTime completedAt;
 
-    public Game(User user, GameStatus status, String serverNonce, String clientNonceHash, String serverNonceHash) {
+    @Column(name = "pre_issued", nullable = false)
+    private boolean preIssued;
+
+    public Game(User user, GameStatus status, short diceCount, String serverNonce, String clientNonceHash, String serverNonceHash, boolean preIssued) {
         this.user = user;
         this.status = status;
+        this.diceCount = diceCount;
         this.serverNonce = serverNonce;
         this.clientNonceHash = clientNonceHash;
         this.serverNonceHash = serverNonceHash;
+        this.preIssued = preIssued;
         this.initiatedAt = ZonedDateTime.now();
     }
 }
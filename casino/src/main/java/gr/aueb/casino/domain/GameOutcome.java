@@ -1,21 +1,24 @@
 package gr.aueb.casino.domain;
 
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 
-@Entity
-@Table(name = "game_outcomes")
 @Getter
-@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
-public class GameOutcome {
+@RequiredArgsConstructor
+public enum GameOutcome {
+    SERVER_WIN((short) 1),
+    CLIENT_WIN((short) 2),
+    TIE((short) 3),
+    EXPIRED((short) 4);
 
-    @Id
-    private Short id;
+    private final short id;
 
-    @Column(nullable = false, unique = true)
-    private String name;
+    public static GameOutcome fromId(short id) {
+        for (GameOutcome outcome : values()) {
+            if (outcome.id == id) {
+                return outcome;
+            }
+        }
+        throw new IllegalArgumentException("Unknown game outcome id " + id + ".");
+    }
 }
@@ -0,0 +1,18 @@
+package gr.aueb.casino.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class GameOutcomeConverter implements AttributeConverter<GameOutcome, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(GameOutcome outcome) {
+        return outcome == null ? null : outcome.getId();
+    }
+
+    @Override
+    public GameOutcome convertToEntityAttribute(Short id) {
+        return id == null ? null : GameOutcome.fromId(id);
+    }
+}
@@ -1,21 +1,22 @@
 package gr.aueb.casino.domain;
 
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 
-@Entity
-@Table(name = "game_statuses")
 @Getter
-@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
-public class GameStatus {
+@RequiredArgsConstructor
+public enum GameStatus {
+    IN_PROGRESS((short) 1),
+    COMPLETED((short) 2);
 
-    @Id
-    private Short id;
+    private final short id;
 
-    @Column(nullable = false, unique = true)
-    private String name;
+    public static GameStatus fromId(short id) {
+        for (GameStatus status : values()) {
+            if (status.id == id) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown game status id " + id + ".");
+    }
 }
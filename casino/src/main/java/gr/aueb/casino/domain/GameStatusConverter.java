@@ -0,0 +1,18 @@
+package gr.aueb.casino.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class GameStatusConverter implements AttributeConverter<GameStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(GameStatus status) {
+        return status == null ? null : status.getId();
+    }
+
+    @Override
+    public GameStatus convertToEntityAttribute(Short id) {
+        return id == null ? null : GameStatus.fromId(id);
+    }
+}
@@ -0,0 +1,37 @@
+package gr.aueb.casino.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "user_stats")
+@Getter
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED)
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long wins;
+
+    @Column(nullable = false)
+    private long losses;
+
+    @Column(nullable = false)
+    private long ties;
+
+    @Column(nullable = false)
+    private long expired;
+
+    @Column(name = "current_win_streak", nullable = false)
+    private int currentWinStreak;
+
+    @Column(name = "longest_win_streak", nullable = false)
+    private int longestWinStreak;
+}
@@ -0,0 +1,15 @@
+package gr.aueb.casino.event;
+
+import java.time.ZonedDateTime;
+
+import gr.aueb.casino.domain.GameOutcome;
+
+public record GameCompletedEvent(
+    Long gameId,
+    Long userId,
+    GameOutcome outcome,
+    short serverRoll,
+    short clientRoll,
+    ZonedDateTime initiatedAt,
+    ZonedDateTime completedAt
+) {}
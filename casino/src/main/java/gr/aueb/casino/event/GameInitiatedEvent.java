@@ -0,0 +1,9 @@
+package gr.aueb.casino.event;
+
+import java.time.ZonedDateTime;
+
+public record GameInitiatedEvent(
+    Long gameId,
+    Long userId,
+    ZonedDateTime initiatedAt
+) {}
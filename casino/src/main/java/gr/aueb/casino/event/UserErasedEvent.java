@@ -0,0 +1,8 @@
+package gr.aueb.casino.event;
+
+import java.time.ZonedDateTime;
+
+public record UserErasedEvent(
+    Long userId,
+    ZonedDateTime erasedAt
+) {}
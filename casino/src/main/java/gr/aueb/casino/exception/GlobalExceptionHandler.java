@@ -2,6 +2,7 @@ package gr.aueb.casino.exception;
 
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -12,7 +13,18 @@ import org.springframework.web.servlet.ModelAndView;
 
 import gr.aueb.casino.exception.custom.GameAccessDeniedException;
 import gr.aueb.casino.exception.custom.GameNotFoundException;
+import gr.aueb.casino.exception.custom.IdempotencyKeyInProgressException;
+import gr.aueb.casino.exception.custom.IdempotencyKeyMismatchException;
+import gr.aueb.casino.exception.custom.InvalidIdempotencyKeyException;
+import gr.aueb.casino.exception.custom.InvalidHistoryQueryException;
 import gr.aueb.casino.exception.custom.InvalidNonceException;
+import gr.aueb.casino.exception.custom.InvalidRollupQueryException;
+import gr.aueb.casino.exception.custom.InvalidRoundEntryException;
+import gr.aueb.casino.exception.custom.PreIssuedGameUnavailableException;
+import gr.aueb.casino.exception.custom.RateLimitExceededException;
+import gr.aueb.casino.exception.custom.RecordingStateException;
+import gr.aueb.casino.exception.custom.RoundNotFoundException;
+import gr.aueb.casino.exception.custom.UserNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -27,6 +39,38 @@ public class GlobalExceptionHandler {
             .body(Map.of("error", ex.getMessage()));
     }
 
+    @ResponseBody
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleUserNotFound(UserNotFoundException ex) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ResponseBody
+    @ExceptionHandler(RoundNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleRoundNotFound(RoundNotFoundException ex) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ResponseBody
+    @ExceptionHandler(InvalidRoundEntryException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRoundEntry(InvalidRoundEntryException ex) {
+        return ResponseEntity
+            .status(HttpStatus.CONFLICT)
+            .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ResponseBody
+    @ExceptionHandler(RecordingStateException.class)
+    public ResponseEntity<Map<String, String>> handleRecordingState(RecordingStateException ex) {
+        return ResponseEntity
+            .status(HttpStatus.CONFLICT)
+            .body(Map.of("error", ex.getMessage()));
+    }
+
     @ResponseBody
     @ExceptionHandler(GameAccessDeniedException.class)
     public ResponseEntity<Map<String, String>> handleGameAccessDenied(GameAccessDeniedException ex) {
@@ -43,6 +87,63 @@ public class GlobalExceptionHandler {
             .body(Map.of("error", ex.getMessage()));
     }
 
+    @ResponseBody
+    @ExceptionHandler(PreIssuedGameUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handlePreIssuedGameUnavailable(PreIssuedGameUnavailableException ex) {
+        return ResponseEntity
+            .status(HttpStatus.GONE)
+            .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ResponseBody
+    @ExceptionHandler(InvalidHistoryQueryException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidHistoryQuery(InvalidHistoryQueryException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ResponseBody
+    @ExceptionHandler(InvalidRollupQueryException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRollupQuery(InvalidRollupQueryException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ResponseBody
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleRateLimitExceeded(RateLimitExceededException ex) {
+        return ResponseEntity
+            .status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+            .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ResponseBody
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ResponseBody
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        return ResponseEntity
+            .status(HttpStatus.UNPROCESSABLE_ENTITY)
+            .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ResponseBody
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        return ResponseEntity
+            .status(HttpStatus.CONFLICT)
+            .body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ModelAndView handleAllUncaughtException(Exception ex, WebRequest request) {
         log.error("Uncaught exception: {}", ex.getMessage(), ex);
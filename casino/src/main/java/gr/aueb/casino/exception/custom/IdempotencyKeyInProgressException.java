@@ -0,0 +1,7 @@
+package gr.aueb.casino.exception.custom;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
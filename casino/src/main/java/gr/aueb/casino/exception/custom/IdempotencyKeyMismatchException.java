@@ -0,0 +1,7 @@
+package gr.aueb.casino.exception.custom;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
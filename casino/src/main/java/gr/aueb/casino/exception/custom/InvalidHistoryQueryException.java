@@ -0,0 +1,7 @@
+package gr.aueb.casino.exception.custom;
+
+public class InvalidHistoryQueryException extends RuntimeException {
+    public InvalidHistoryQueryException(String message) {
+        super(message);
+    }
+}
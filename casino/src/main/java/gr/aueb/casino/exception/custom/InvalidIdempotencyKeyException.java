@@ -0,0 +1,7 @@
+package gr.aueb.casino.exception.custom;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
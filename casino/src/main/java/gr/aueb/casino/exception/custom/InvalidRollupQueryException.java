@@ -0,0 +1,7 @@
+package gr.aueb.casino.exception.custom;
+
+public class InvalidRollupQueryException extends RuntimeException {
+    public InvalidRollupQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package gr.aueb.casino.exception.custom;
+
+public class InvalidRoundEntryException extends RuntimeException {
+    public InvalidRoundEntryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package gr.aueb.casino.exception.custom;
+
+public class PreIssuedGameUnavailableException extends RuntimeException {
+    public PreIssuedGameUnavailableException(String message) {
+        super(message);
+    }
+}
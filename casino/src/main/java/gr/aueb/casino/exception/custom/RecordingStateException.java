@@ -0,0 +1,7 @@
+package gr.aueb.casino.exception.custom;
+
+public class RecordingStateException extends RuntimeException {
+    public RecordingStateException(String message) {
+        super(message);
+    }
+}
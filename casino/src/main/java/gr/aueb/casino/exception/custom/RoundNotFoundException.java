@@ -0,0 +1,7 @@
+package gr.aueb.casino.exception.custom;
+
+public class RoundNotFoundException extends RuntimeException {
+    public RoundNotFoundException(String message) {
+        super(message);
+    }
+}
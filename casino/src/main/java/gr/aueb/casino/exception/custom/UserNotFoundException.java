@@ -0,0 +1,7 @@
+package gr.aueb.casino.exception.custom;
+
+public class UserNotFoundException extends RuntimeException {
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,110 @@
+package gr.aueb.casino.feed;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * One connected client: a bounded mailbox of encoded frames, drained by whichever shared sender
+ * thread {@link #offer} asked for. A client that reads slower than results arrive loses the oldest
+ * frames instead of holding memory. A client that stops reading altogether leaves a send blocked in
+ * the servlet write; {@link #evictIfStalled} closes it once that send has run too long.
+ */
+final class FeedSubscriber {
+    private static final long NOT_SENDING = Long.MIN_VALUE;
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Counter droppedCounter;
+    private final ArrayDeque<Set<DataWithMediaType>> mailbox;
+    private boolean draining;
+    private boolean closed;
+    private boolean evictedWhileSending;
+    private volatile long sendingSince = NOT_SENDING;
+
+    FeedSubscriber(SseEmitter emitter, int capacity, Counter droppedCounter) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.droppedCounter = droppedCounter;
+        this.mailbox = new ArrayDeque<>(capacity);
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Queues a frame, dropping the oldest one when full. Returns true when the caller must schedule
+     * {@link #drain}, that is when no drain is already running.
+     */
+    synchronized boolean offer(Set<DataWithMediaType> frame) {
+        if (closed) {
+            return false;
+        }
+        if (mailbox.size() == capacity) {
+            mailbox.pollFirst();
+            droppedCounter.increment();
+        }
+        mailbox.addLast(frame);
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    /**
+     * Sends queued frames until the mailbox is empty. Returns true when the subscriber was evicted
+     * while this thread was blocked in a send.
+     */
+    boolean drain() {
+        while (true) {
+            Set<DataWithMediaType> frame;
+            synchronized (this) {
+                sendingSince = NOT_SENDING;
+                if (closed) {
+                    boolean evicted = evictedWhileSending;
+                    evictedWhileSending = false;
+                    return evicted;
+                }
+                frame = mailbox.pollFirst();
+                if (frame == null) {
+                    draining = false;
+                    return false;
+                }
+                sendingSince = System.nanoTime();
+            }
+            try {
+                emitter.send(frame);
+            } catch (IOException | IllegalStateException e) {
+                // the container reports the broken connection through the emitter's error callback
+                close();
+            }
+        }
+    }
+
+    /**
+     * Closes the subscriber when a send has been in progress for longer than timeoutNanos. Returns
+     * true when it did, and the sending thread stays blocked until the connection gives up.
+     */
+    synchronized boolean evictIfStalled(long now, long timeoutNanos) {
+        long since = sendingSince;
+        if (closed || since == NOT_SENDING || now - since < timeoutNanos) {
+            return false;
+        }
+        close();
+        evictedWhileSending = true;
+        return true;
+    }
+
+    synchronized void close() {
+        closed = true;
+        draining = false;
+        mailbox.clear();
+    }
+}
@@ -0,0 +1,223 @@
+package gr.aueb.casino.feed;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import gr.aueb.casino.api.schemas.response.GameResultFeedResponse;
+import gr.aueb.casino.event.GameCompletedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live feed of completed games for the game page ticker (fan-out: local | redis). In redis mode a
+ * completion is published to one channel that every node subscribes to once; in local mode it goes
+ * straight to this node's clients. Each result is encoded once into a ring buffer of recent frames,
+ * then only queued per client, and a few shared sender threads write to the connections. Those
+ * writes block, so a client whose send stalls past the send timeout is evicted and its sender
+ * thread replaced until the stalled write returns; the other clients keep receiving.
+ */
+@Slf4j
+@Component
+public class ResultFeed {
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisFanOut;
+    private final String channel;
+    private final int replaySize;
+    private final int mailboxSize;
+    private final int maxSubscribers;
+    private final ResultRingBuffer<Set<DataWithMediaType>> recent;
+    private final Set<FeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("keepalive").build();
+    private final ThreadPoolExecutor senders;
+    private final long sendTimeoutNanos;
+    private final Counter droppedCounter;
+    private final Counter evictedCounter;
+
+    public ResultFeed(
+        StringRedisTemplate redisTemplate,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${casino.feed.fan-out:redis}") String fanOut,
+        @Value("${casino.feed.channel:casino:game-results}") String channel,
+        @Value("${casino.feed.ring-size:256}") int ringSize,
+        @Value("${casino.feed.replay-size:20}") int replaySize,
+        @Value("${casino.feed.mailbox-size:64}") int mailboxSize,
+        @Value("${casino.feed.max-subscribers:10000}") int maxSubscribers,
+        @Value("${casino.feed.sender-threads:4}") int senderThreads,
+        @Value("${casino.feed.send-timeout-ms:5000}") long sendTimeoutMs
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisFanOut = "redis".equals(fanOut);
+        this.channel = channel;
+        this.replaySize = replaySize;
+        this.mailboxSize = mailboxSize;
+        this.maxSubscribers = maxSubscribers;
+        this.recent = new ResultRingBuffer<>(ringSize);
+        // queued, so only the core threads run; the core grows by one per stalled send
+        this.senders = new ThreadPoolExecutor(senderThreads, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new CustomizableThreadFactory("result-feed-"));
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.droppedCounter = Counter.builder("feed.frames.dropped")
+            .description("Feed frames dropped because a client read slower than results arrived")
+            .register(meterRegistry);
+        this.evictedCounter = Counter.builder("feed.subscribers.evicted")
+            .description("Feed clients disconnected because a send to them stalled")
+            .register(meterRegistry);
+        Gauge.builder("feed.subscribers", subscribers, Set::size)
+            .description("Clients connected to the live results feed")
+            .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onGameCompleted(GameCompletedEvent event) {
+        String result = serialize(new GameResultFeedResponse(
+            event.gameId(),
+            event.outcome().name(),
+            event.serverRoll(),
+            event.clientRoll(),
+            event.completedAt().toOffsetDateTime()
+        ));
+        if (!redisFanOut) {
+            deliver(event.gameId(), result);
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, result);
+        } catch (RuntimeException e) {
+            log.warn("Could not publish game {} to the results channel, showing it on this node only: {}", event.gameId(), e.getMessage());
+            deliver(event.gameId(), result);
+        }
+    }
+
+    /**
+     * Called with every message on the results channel, including this node's own.
+     */
+    public void onMessage(String result) {
+        JsonNode gameId;
+        try {
+            gameId = objectMapper.readTree(result).get("gameId");
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping a malformed message on the results channel: {}", e.getMessage());
+            return;
+        }
+        if (gameId == null || !gameId.canConvertToLong()) {
+            log.warn("Skipping a message without a game id on the results channel");
+            return;
+        }
+        deliver(gameId.asLong(), result);
+    }
+
+    /**
+     * Opens a stream that starts with the recent results after lastEventId, a game id, or the latest
+     * few when the id is absent or no longer held. Game ids mean the same on every node, so a client
+     * can resume on any of them. Empty when the node is at its client limit.
+     */
+    public synchronized Optional<SseEmitter> subscribe(Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter();
+        FeedSubscriber subscriber = new FeedSubscriber(emitter, mailboxSize, droppedCounter);
+        Runnable unsubscribe = () -> {
+            subscriber.close();
+            subscribers.remove(subscriber);
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        long after = lastEventId == null ? 0 : recent.sequenceOf(lastEventId).orElse(0);
+        recent.since(after, replaySize).forEach(frame -> enqueue(subscriber, frame));
+        subscribers.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    @Scheduled(fixedDelayString = "${casino.feed.heartbeat-interval-ms:15000}")
+    public void sendHeartbeat() {
+        subscribers.forEach(subscriber -> enqueue(subscriber, heartbeat));
+    }
+
+    @Scheduled(fixedDelayString = "${casino.feed.stall-check-interval-ms:1000}")
+    public void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        for (FeedSubscriber subscriber : subscribers) {
+            if (subscriber.evictIfStalled(now, sendTimeoutNanos)) {
+                subscribers.remove(subscriber);
+                evictedCounter.increment();
+                resizeSenders(1);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+    }
+
+    private synchronized void deliver(long gameId, String result) {
+        Set<DataWithMediaType> frame = SseEmitter.event()
+            .id(Long.toString(gameId))
+            .name("result")
+            .data(result)
+            .build();
+        recent.append(gameId, frame);
+        subscribers.forEach(subscriber -> enqueue(subscriber, frame));
+    }
+
+    private void enqueue(FeedSubscriber subscriber, Set<DataWithMediaType> frame) {
+        if (subscriber.offer(frame)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.close();
+            }
+        }
+    }
+
+    private void drain(FeedSubscriber subscriber) {
+        if (subscriber.drain()) {
+            // the stalled send has returned and this thread was replaced meanwhile, so retire it
+            subscriber.emitter().complete();
+            resizeSenders(-1);
+        }
+    }
+
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            senders.setCorePoolSize(senders.getCorePoolSize() + delta);
+        }
+    }
+
+    private String serialize(GameResultFeedResponse result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize feed result.", e);
+        }
+    }
+}
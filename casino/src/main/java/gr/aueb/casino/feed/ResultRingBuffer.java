@@ -0,0 +1,63 @@
+package gr.aueb.casino.feed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * The most recent items, numbered from 1 in append order, overwriting the oldest once full. Each item
+ * also carries a key that means the same on every node, which is what clients get to resume from.
+ * Not thread-safe; {@link ResultFeed} appends and reads under its own lock.
+ */
+final class ResultRingBuffer<T> {
+    private final Object[] items;
+    private final long[] keys;
+    private long lastSequence;
+
+    ResultRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive, was " + capacity + ".");
+        }
+        this.items = new Object[capacity];
+        this.keys = new long[capacity];
+    }
+
+    long append(long key, T item) {
+        lastSequence++;
+        int slot = (int) ((lastSequence - 1) % items.length);
+        items[slot] = item;
+        keys[slot] = key;
+        return lastSequence;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * The sequence of the newest held item with the key, empty when no held item has it.
+     */
+    OptionalLong sequenceOf(long key) {
+        long oldestHeld = Math.max(1, lastSequence - items.length + 1);
+        for (long sequence = lastSequence; sequence >= oldestHeld; sequence--) {
+            if (keys[(int) ((sequence - 1) % items.length)] == key) {
+                return OptionalLong.of(sequence);
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Up to limit of the newest items numbered above afterSequence, oldest first.
+     */
+    @SuppressWarnings("unchecked")
+    List<T> since(long afterSequence, int limit) {
+        long oldestHeld = Math.max(1, lastSequence - items.length + 1);
+        long from = Math.max(Math.max(oldestHeld, afterSequence + 1), lastSequence - limit + 1);
+        List<T> result = new ArrayList<>((int) Math.max(0, lastSequence - from + 1));
+        for (long sequence = from; sequence <= lastSequence; sequence++) {
+            result.add((T) items[(int) ((sequence - 1) % items.length)]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package gr.aueb.casino.jfr;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import gr.aueb.casino.exception.custom.RecordingStateException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs at most one on-demand flight recording. Recordings start from the JDK's low-overhead
+ * "default" profile with the casino events enabled and lock, park and socket thresholds lowered,
+ * so p99 spikes can be lined up against GC pauses and contention.
+ */
+@Slf4j
+@Service
+public class FlightRecorderService {
+    private static final Map<String, String> TUNED_SETTINGS = Map.of(
+        "gr.aueb.casino.GameInitiate#enabled", "true",
+        "gr.aueb.casino.GameReveal#enabled", "true",
+        "gr.aueb.casino.SessionDeserialize#enabled", "true",
+        "jdk.JavaMonitorEnter#threshold", "10 ms",
+        "jdk.ThreadPark#threshold", "10 ms",
+        "jdk.SocketRead#threshold", "10 ms",
+        "jdk.SocketWrite#threshold", "10 ms",
+        "jdk.ExecutionSample#period", "10 ms"
+    );
+
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private Recording recording;
+
+    public FlightRecorderService(
+        @Value("${casino.jfr.max-age-seconds:600}") long maxAgeSeconds,
+        @Value("${casino.jfr.max-size-mb:100}") long maxSizeMb
+    ) {
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    public synchronized Recording start() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingStateException("A flight recording is already running.");
+        }
+        closeRecording();
+
+        Recording started = new Recording(settings());
+        started.setName("casino-on-demand");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSizeBytes);
+        started.start();
+        recording = started;
+        log.info("Started flight recording {}", started.getId());
+        return started;
+    }
+
+    public synchronized Recording stop() {
+        Recording running = requireRecording();
+        if (running.getState() == RecordingState.RUNNING) {
+            running.stop();
+            log.info("Stopped flight recording {}", running.getId());
+        }
+        return running;
+    }
+
+    public synchronized Path dump() {
+        Recording current = requireRecording();
+        try {
+            Path file = Files.createTempFile("casino-" + current.getId() + "-", ".jfr");
+            current.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump flight recording " + current.getId(), e);
+        }
+    }
+
+    public synchronized Recording current() {
+        return requireRecording();
+    }
+
+    private Recording requireRecording() {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            throw new RecordingStateException("No flight recording has been started.");
+        }
+        return recording;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Map<String, String> settings() {
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(TUNED_SETTINGS);
+            return settings;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JDK flight recorder profile 'default' is not available", e);
+        }
+    }
+}
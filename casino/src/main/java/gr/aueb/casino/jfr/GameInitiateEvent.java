@@ -0,0 +1,36 @@
+package gr.aueb.casino.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("gr.aueb.casino.GameInitiate")
+@Label("Game Initiate")
+@Category({"Casino", "Game"})
+@Description("Server commitment generated and stored for a new game")
+@StackTrace(false)
+public class GameInitiateEvent extends Event {
+    @Label("Game Id")
+    public long gameId;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Dice Count")
+    public short diceCount;
+
+    @Label("Pre-issued")
+    public boolean preIssued;
+
+    @Label("Hashing")
+    @Timespan(Timespan.NANOSECONDS)
+    public long hashingDuration;
+
+    @Label("Persistence")
+    @Timespan(Timespan.NANOSECONDS)
+    public long persistenceDuration;
+}
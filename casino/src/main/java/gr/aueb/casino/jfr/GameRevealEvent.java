@@ -0,0 +1,54 @@
+package gr.aueb.casino.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One reveal call, ended once its transaction has committed or rolled back. The outcome is left empty
+ * when the reveal was rejected, and the persistence span covers the compare-and-set update, including
+ * any wait on the game's row lock held by a racing reveal.
+ */
+@Name("gr.aueb.casino.GameReveal")
+@Label("Game Reveal")
+@Category({"Casino", "Game"})
+@Description("Client nonce checked, dice derived and the game completed")
+@StackTrace(false)
+public class GameRevealEvent extends Event {
+    @Label("Game Id")
+    public long gameId;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Dice Count")
+    public short diceCount;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Replayed")
+    @Description("The game was already completed and the stored result was returned")
+    public boolean replayed;
+
+    @Label("Load")
+    @Timespan(Timespan.NANOSECONDS)
+    public long loadDuration;
+
+    @Label("Hashing")
+    @Timespan(Timespan.NANOSECONDS)
+    public long hashingDuration;
+
+    @Label("Persistence")
+    @Timespan(Timespan.NANOSECONDS)
+    public long persistenceDuration;
+
+    @Label("Commit")
+    @Description("Before-commit listeners and the commit itself, once the reveal has returned")
+    @Timespan(Timespan.NANOSECONDS)
+    public long commitDuration;
+}
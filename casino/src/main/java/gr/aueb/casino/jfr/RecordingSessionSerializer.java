@@ -0,0 +1,39 @@
+package gr.aueb.casino.jfr;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Wraps the session attribute serializer so every attribute read back from Redis shows up in a
+ * flight recording with its size and type.
+ */
+public class RecordingSessionSerializer implements RedisSerializer<Object> {
+    private final RedisSerializer<Object> delegate;
+
+    public RecordingSessionSerializer(RedisSerializer<Object> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        return delegate.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        SessionDeserializeEvent event = new SessionDeserializeEvent();
+        if (!event.isEnabled()) {
+            return delegate.deserialize(bytes);
+        }
+
+        event.begin();
+        Object value = delegate.deserialize(bytes);
+        event.end();
+        if (event.shouldCommit()) {
+            event.size = bytes == null ? 0 : bytes.length;
+            event.type = value == null ? null : value.getClass().getName();
+            event.commit();
+        }
+        return value;
+    }
+}
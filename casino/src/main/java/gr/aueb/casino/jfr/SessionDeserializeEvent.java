@@ -0,0 +1,21 @@
+package gr.aueb.casino.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("gr.aueb.casino.SessionDeserialize")
+@Label("Session Deserialize")
+@Category({"Casino", "Session"})
+@StackTrace(false)
+public class SessionDeserializeEvent extends Event {
+    @Label("Size")
+    @DataAmount
+    public int size;
+
+    @Label("Type")
+    public String type;
+}
@@ -0,0 +1,47 @@
+package gr.aueb.casino.job;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import gr.aueb.casino.service.GameRollupService;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "casino.jobs.rollup-rebuild.enabled", havingValue = "true")
+public class GameRollupRebuildJob implements ApplicationRunner {
+    private final GameRollupService gameRollupService;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    public GameRollupRebuildJob(
+        GameRollupService gameRollupService,
+        @Value("${casino.jobs.rollup-rebuild.from}") LocalDate from,
+        @Value("${casino.jobs.rollup-rebuild.to}") LocalDate to,
+        @Value("${casino.game-store:jpa}") String gameStore
+    ) {
+        if (!gameStore.equals("jpa") && !gameStore.equals("jdbc")) {
+            throw new IllegalStateException("The rollup rebuild reads the primary games table, which casino.game-store="
+                + gameStore + " does not write. Run it with the jpa or jdbc store.");
+        }
+        this.gameRollupService = gameRollupService;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Rebuilding game rollups from {} to {}", from, to);
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            ZonedDateTime start = day.atStartOfDay(ZoneOffset.UTC);
+            gameRollupService.rebuild(start, start);
+        }
+    }
+}
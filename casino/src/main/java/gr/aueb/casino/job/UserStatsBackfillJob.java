@@ -0,0 +1,140 @@
+package gr.aueb.casino.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import gr.aueb.casino.domain.GameOutcome;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recomputes user_stats from the games table, one chunk of user ids per transaction. Each chunk first
+ * makes sure every user has a stats row and takes the row locks that live reveals take to apply their
+ * delta. The recount then runs as its own statement, so its snapshot holds every game whose delta is
+ * already in the row, and a reveal still in flight adds its delta on top once the chunk commits.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "casino.jobs.user-stats-backfill.enabled", havingValue = "true")
+public class UserStatsBackfillJob implements ApplicationRunner {
+    private static final String CREATE_MISSING_ROWS = """
+        INSERT INTO user_stats (user_id)
+        SELECT id FROM users WHERE id BETWEEN ? AND ?
+        ON CONFLICT (user_id) DO NOTHING
+        """;
+
+    private static final String LOCK_ROWS = """
+        SELECT user_id FROM user_stats
+        WHERE user_id BETWEEN ? AND ?
+        ORDER BY user_id
+        FOR UPDATE
+        """;
+
+    private static final String BACKFILL_CHUNK = """
+        WITH ordered AS (
+            SELECT user_id, outcome_id AS outcome,
+                   ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY completed_at, id) AS position,
+                   ROW_NUMBER() OVER (PARTITION BY user_id, outcome_id = %2$d ORDER BY completed_at, id) AS group_position
+            FROM games
+            WHERE user_id BETWEEN ? AND ? AND outcome_id IS NOT NULL
+        ),
+        win_runs AS (
+            SELECT user_id, COUNT(*) AS length, MAX(position) AS last_position
+            FROM ordered
+            WHERE outcome = %2$d
+            GROUP BY user_id, position - group_position
+        ),
+        totals AS (
+            SELECT user_id,
+                   COUNT(*) FILTER (WHERE outcome = %2$d) AS wins,
+                   COUNT(*) FILTER (WHERE outcome = %1$d) AS losses,
+                   COUNT(*) FILTER (WHERE outcome = %3$d) AS ties,
+                   COUNT(*) FILTER (WHERE outcome = %4$d) AS expired,
+                   MAX(position) AS last_position
+            FROM ordered
+            GROUP BY user_id
+        )
+        INSERT INTO user_stats (user_id, wins, losses, ties, expired, current_win_streak, longest_win_streak)
+        SELECT t.user_id, t.wins, t.losses, t.ties, t.expired,
+               COALESCE(MAX(r.length) FILTER (WHERE r.last_position = t.last_position), 0),
+               COALESCE(MAX(r.length), 0)
+        FROM totals t
+        LEFT JOIN win_runs r ON r.user_id = t.user_id
+        GROUP BY t.user_id, t.wins, t.losses, t.ties, t.expired
+        ON CONFLICT (user_id) DO UPDATE SET
+            wins = EXCLUDED.wins,
+            losses = EXCLUDED.losses,
+            ties = EXCLUDED.ties,
+            expired = EXCLUDED.expired,
+            current_win_streak = EXCLUDED.current_win_streak,
+            longest_win_streak = EXCLUDED.longest_win_streak
+        """.formatted(
+            GameOutcome.SERVER_WIN.getId(),
+            GameOutcome.CLIENT_WIN.getId(),
+            GameOutcome.TIE.getId(),
+            GameOutcome.EXPIRED.getId()
+        );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final int chunkSize;
+
+    public UserStatsBackfillJob(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        @Value("${casino.jobs.user-stats-backfill.parallelism:4}") int parallelism,
+        @Value("${casino.jobs.user-stats-backfill.chunk-size:1000}") int chunkSize,
+        @Value("${casino.game-store:jpa}") String gameStore
+    ) {
+        if (!gameStore.equals("jpa") && !gameStore.equals("jdbc")) {
+            throw new IllegalStateException("The user stats backfill reads the primary games table, which casino.game-store="
+                + gameStore + " does not write. Run it with the jpa or jdbc store.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException, ExecutionException {
+        long maxUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+        log.info("Backfilling user stats for user ids up to {} in chunks of {} with {} workers", maxUserId, chunkSize, parallelism);
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<Integer>> chunks = new ArrayList<>();
+            for (long from = 1; from <= maxUserId; from += chunkSize) {
+                long to = from + chunkSize - 1;
+                long chunkFrom = from;
+                chunks.add(executor.submit(() -> transactionTemplate.execute(status -> backfillChunk(chunkFrom, to))));
+            }
+
+            long users = 0;
+            for (Future<Integer> chunk : chunks) {
+                users += chunk.get();
+            }
+            log.info("User stats backfill finished, {} users updated", users);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int backfillChunk(long fromUserId, long toUserId) {
+        jdbcTemplate.update(CREATE_MISSING_ROWS, fromUserId, toUserId);
+        jdbcTemplate.queryForList(LOCK_ROWS, Long.class, fromUserId, toUserId);
+        return jdbcTemplate.update(BACKFILL_CHUNK, fromUserId, toUserId);
+    }
+}
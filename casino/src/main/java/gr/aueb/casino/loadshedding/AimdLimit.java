@@ -0,0 +1,45 @@
+package gr.aueb.casino.loadshedding;
+
+import java.time.Duration;
+
+/**
+ * Additive-increase/multiplicative-decrease limit. Each sample that finishes within the latency target
+ * while the bulkhead is at least half full grows the limit by one; a slow or dropped sample shrinks it
+ * by {@code backoffRatio}. Growth only when the limit is actually being used keeps an idle service from
+ * drifting up to {@code maxLimit} and then admitting a burst it cannot serve.
+ */
+public class AimdLimit implements ConcurrencyLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private volatile double limit;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyTarget, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= initialLimit <= maxLimit.");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1 (exclusive).");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int current() {
+        return (int) limit;
+    }
+
+    @Override
+    public synchronized void onSample(long latencyNanos, int inflight, boolean dropped) {
+        if (dropped || latencyNanos > latencyTargetNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inflight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
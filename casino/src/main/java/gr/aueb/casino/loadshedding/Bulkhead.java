@@ -0,0 +1,57 @@
+package gr.aueb.casino.loadshedding;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class Bulkhead {
+    private final String name;
+    private final ConcurrencyLimit limit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Counter shed;
+
+    public Bulkhead(String name, ConcurrencyLimit limit, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.limit = limit;
+        Gauge.builder("http.server.concurrency.limit", limit, ConcurrencyLimit::current)
+            .description("Current concurrency limit of the bulkhead")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.inflight", inflight, AtomicInteger::get)
+            .description("Requests currently holding a permit of the bulkhead")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+        this.shed = Counter.builder("http.server.concurrency.shed")
+            .description("Requests rejected with 503 because the bulkhead was full")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit.current()) {
+                shed.increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean dropped) {
+        int before = inflight.getAndDecrement();
+        limit.onSample(latencyNanos, before, dropped);
+    }
+
+    public void releaseWithoutSample() {
+        inflight.decrementAndGet();
+    }
+}
@@ -0,0 +1,25 @@
+package gr.aueb.casino.loadshedding;
+
+public interface ConcurrencyLimit {
+
+    int current();
+
+    /**
+     * Feeds back the outcome of one request that held a permit. {@code dropped} marks a request that
+     * failed in a way that signals overload (server error or timeout) rather than a slow success.
+     */
+    void onSample(long latencyNanos, int inflight, boolean dropped);
+
+    static ConcurrencyLimit fixed(int limit) {
+        return new ConcurrencyLimit() {
+            @Override
+            public int current() {
+                return limit;
+            }
+
+            @Override
+            public void onSample(long latencyNanos, int inflight, boolean dropped) {
+            }
+        };
+    }
+}
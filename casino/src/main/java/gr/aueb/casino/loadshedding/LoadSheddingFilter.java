@@ -0,0 +1,124 @@
+package gr.aueb.casino.loadshedding;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits each request into the bulkhead of the first matching route and rejects it with 503 straight
+ * away when that bulkhead is full, before the session is loaded or a connection is borrowed. A request
+ * that goes async (a streamed download) keeps its permit until the async request completes; long-lived
+ * streams such as server-sent events belong on a route without a bulkhead.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+    private static final String SHED_BODY = "{\"error\":\"Server is overloaded. Please retry shortly.\"}";
+
+    private final List<Route> routes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public LoadSheddingFilter(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        Bulkhead bulkhead = resolve(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!bulkhead.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(SHED_BODY);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(bulkhead));
+            } else {
+                bulkhead.release(System.nanoTime() - start, failed || response.getStatus() >= 500);
+            }
+        }
+    }
+
+    private Bulkhead resolve(String method, String path) {
+        for (Route route : routes) {
+            if (route.method() != null && !route.method().equals(method)) {
+                continue;
+            }
+            for (String pattern : route.pathPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return route.bulkhead();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Releases the permit of an async request once, whichever of complete, error or timeout fires first.
+     * Streaming time says nothing about overload, so the release does not feed the limit.
+     */
+    private static class ReleaseOnCompletion implements AsyncListener {
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.releaseWithoutSample();
+            }
+        }
+    }
+
+    /**
+     * A {@code null} method matches any method; a {@code null} bulkhead lets matching requests through unlimited.
+     */
+    public record Route(String method, List<String> pathPatterns, Bulkhead bulkhead) {}
+}
@@ -0,0 +1,58 @@
+package gr.aueb.casino.migration;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import gr.aueb.casino.sharding.ShardDataSources;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@ImportAutoConfiguration({
+    PropertyPlaceholderAutoConfiguration.class,
+    DataSourceAutoConfiguration.class,
+    FlywayAutoConfiguration.class
+})
+public class MigrationRunner {
+
+    public static int run(String... args) {
+        long started = System.nanoTime();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MigrationRunner.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .properties("spring.flyway.enabled=true")
+            .run(args);
+
+        var current = context.getBean(Flyway.class).info().current();
+        log.info("Schema is at version {} after {} ms",
+            current == null ? "<empty>" : current.getVersion(),
+            Duration.ofNanos(System.nanoTime() - started).toMillis());
+
+        Environment environment = context.getEnvironment();
+        if ("sharded".equals(environment.getProperty("casino.game-store"))) {
+            List<String> shardUrls = List.of(environment.getRequiredProperty("casino.sharding.shard-urls", String[].class));
+            List<HikariDataSource> shards = ShardDataSources.create(context.getBean(DataSourceProperties.class), environment, shardUrls, null);
+            try {
+                ShardDataSources.migrate(shards, "migrate");
+            } finally {
+                shards.forEach(HikariDataSource::close);
+            }
+        }
+
+        return SpringApplication.exit(context);
+    }
+}
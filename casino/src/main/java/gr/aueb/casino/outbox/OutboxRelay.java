@@ -0,0 +1,140 @@
+package gr.aueb.casino.outbox;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "casino.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private static final String CLAIM_BATCH = """
+        DELETE FROM game_event_outbox
+        WHERE id IN (
+            SELECT id FROM game_event_outbox
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id, event_type, aggregate_id, payload, created_at
+        """;
+
+    private static final String OLDEST_PENDING = "SELECT created_at FROM game_event_outbox ORDER BY id LIMIT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final byte[] streamKey;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final XAddOptions addOptions;
+    private final Counter publishedCounter;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        StringRedisTemplate redisTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${casino.outbox.stream-key:casino:game-events}") String streamKey,
+        @Value("${casino.outbox.stream-max-length:1000000}") long streamMaxLength,
+        @Value("${casino.outbox.relay.batch-size:500}") int batchSize,
+        @Value("${casino.outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.redisTemplate = redisTemplate;
+        this.streamKey = streamKey.getBytes(StandardCharsets.UTF_8);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.addOptions = XAddOptions.maxlen(streamMaxLength).approximateTrimming(true);
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+            .description("Outbox events published to the Redis stream")
+            .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, lag -> lag.get() / 1000.0)
+            .description("Age of the oldest outbox event not yet published")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${casino.outbox.relay.interval-ms:200}")
+    public void relay() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer published = transactionTemplate.execute(status -> publishBatch());
+                if (published == null || published < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Relaying outbox events failed, retrying on next run: {}", e.getMessage());
+        } finally {
+            updateLag();
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> events = jdbcTemplate.query(CLAIM_BATCH, (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getString("event_type"),
+            rs.getLong("aggregate_id"),
+            rs.getString("payload"),
+            rs.getObject("created_at", OffsetDateTime.class)
+        ), batchSize);
+
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (OutboxEvent event : events) {
+                connection.streamCommands().xAdd(MapRecord.create(streamKey, event.toFields()), addOptions);
+            }
+            return null;
+        });
+
+        publishedCounter.increment(events.size());
+        return events.size();
+    }
+
+    private void updateLag() {
+        List<OffsetDateTime> oldest = jdbcTemplate.query(OLDEST_PENDING, (rs, rowNum) -> rs.getObject("created_at", OffsetDateTime.class));
+        lagMillis.set(oldest.isEmpty() ? 0 : Math.max(0, Duration.between(oldest.get(0), OffsetDateTime.now()).toMillis()));
+    }
+
+    private record OutboxEvent(long id, String type, long aggregateId, String payload, OffsetDateTime createdAt) {
+        Map<byte[], byte[]> toFields() {
+            return Map.of(
+                bytes("outboxId"), bytes(String.valueOf(id)),
+                bytes("type"), bytes(type),
+                bytes("aggregateId"), bytes(String.valueOf(aggregateId)),
+                bytes("payload"), bytes(payload),
+                bytes("createdAt"), bytes(createdAt.toString())
+            );
+        }
+
+        private static byte[] bytes(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package gr.aueb.casino.outbox;
+
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import gr.aueb.casino.event.GameCompletedEvent;
+import gr.aueb.casino.event.UserErasedEvent;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+@RegisterReflectionForBinding({GameCompletedEvent.class, UserErasedEvent.class})
+public class OutboxWriter {
+    static final String GAME_COMPLETED = "GameCompleted";
+    static final String USER_ERASED = "UserErased";
+
+    private static final String INSERT_EVENT =
+        "INSERT INTO game_event_outbox (event_type, aggregate_id, payload) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onGameCompleted(GameCompletedEvent event) throws JsonProcessingException {
+        jdbcTemplate.update(INSERT_EVENT, GAME_COMPLETED, event.gameId(), objectMapper.writeValueAsString(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserErased(UserErasedEvent event) throws JsonProcessingException {
+        jdbcTemplate.update(INSERT_EVENT, USER_ERASED, event.userId(), objectMapper.writeValueAsString(event));
+    }
+}
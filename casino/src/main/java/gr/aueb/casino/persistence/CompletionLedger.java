@@ -0,0 +1,32 @@
+package gr.aueb.casino.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records on the primary which game completions have had their stats delta and outbox event written,
+ * for stores whose completion commits apart from the caller's transaction. A claim conflicting with one
+ * still in flight waits for it, so exactly one transaction records each completion.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompletionLedger {
+    private static final String CLAIM = """
+        INSERT INTO recorded_game_completions (game_id) VALUES (?)
+        ON CONFLICT (game_id) DO NOTHING
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns true when the calling transaction is the one to record the completion of the game.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean claim(Long gameId) {
+        return jdbcTemplate.update(CLAIM, gameId) == 1;
+    }
+}
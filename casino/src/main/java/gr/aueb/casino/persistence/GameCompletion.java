@@ -0,0 +1,17 @@
+package gr.aueb.casino.persistence;
+
+import java.time.ZonedDateTime;
+
+import gr.aueb.casino.domain.GameOutcome;
+
+public record GameCompletion(
+    GameOutcome outcome,
+    short serverRoll,
+    short clientRoll,
+    byte[] serverDice,
+    byte[] clientDice,
+    String clientNonce,
+    String clientNonceHash,
+    ZonedDateTime initiatedAt,
+    ZonedDateTime completedAt
+) {}
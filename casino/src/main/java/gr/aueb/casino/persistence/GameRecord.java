@@ -0,0 +1,25 @@
+package gr.aueb.casino.persistence;
+
+import java.time.ZonedDateTime;
+
+import gr.aueb.casino.domain.GameOutcome;
+import gr.aueb.casino.domain.GameStatus;
+
+public record GameRecord(
+    Long id,
+    Long userId,
+    GameStatus status,
+    GameOutcome outcome,
+    short diceCount,
+    Short serverRoll,
+    Short clientRoll,
+    byte[] serverDice,
+    byte[] clientDice,
+    String serverNonce,
+    String clientNonce,
+    String clientNonceHash,
+    String serverNonceHash,
+    ZonedDateTime initiatedAt,
+    ZonedDateTime completedAt,
+    boolean preIssued
+) {}
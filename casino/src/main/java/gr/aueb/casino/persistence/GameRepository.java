@@ -1,21 +1,62 @@
 package gr.aueb.casino.persistence;
 
+import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import gr.aueb.casino.domain.Game;
-import jakarta.persistence.LockModeType;
+import gr.aueb.casino.domain.GameOutcome;
 
 public interface GameRepository extends JpaRepository<Game, Long> {
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT g FROM Game g WHERE g.id = :id")
-    Optional<Game> findWithLockById(@Param("id") Long id);
+    @Query("SELECT g FROM Game g WHERE g.user.id = :userId AND g.status = gr.aueb.casino.domain.GameStatus.COMPLETED ORDER BY g.completedAt DESC, g.id DESC")
+    List<Game> findCompletedByUserId(@Param("userId") Long userId, Pageable pageable);
 
-    @Query("SELECT g FROM Game g WHERE g.user.id = :userId AND g.status.name = 'COMPLETED' ORDER BY g.completedAt DESC LIMIT 5")
-    List<Game> findTop5CompletedByUserId(@Param("userId") Long userId);
+    @Query("""
+        SELECT g FROM Game g
+        WHERE g.user.id = :userId AND g.status = gr.aueb.casino.domain.GameStatus.COMPLETED
+          AND (g.completedAt < :completedAt OR (g.completedAt = :completedAt AND g.id < :id))
+        ORDER BY g.completedAt DESC, g.id DESC
+        """)
+    List<Game> findCompletedByUserIdBefore(
+        @Param("userId") Long userId,
+        @Param("completedAt") ZonedDateTime completedAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query("SELECT g.id FROM Game g WHERE g.user.id = :userId AND g.id > :afterId ORDER BY g.id")
+    List<Long> findIdsByUserIdAfter(@Param("userId") Long userId, @Param("afterId") long afterId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Game g
+        SET g.status = gr.aueb.casino.domain.GameStatus.COMPLETED,
+            g.outcome = :outcome,
+            g.serverRoll = :serverRoll,
+            g.clientRoll = :clientRoll,
+            g.serverDice = :serverDice,
+            g.clientDice = :clientDice,
+            g.clientNonce = :clientNonce,
+            g.clientNonceHash = :clientNonceHash,
+            g.initiatedAt = :initiatedAt,
+            g.completedAt = :completedAt
+        WHERE g.id = :id AND g.status = gr.aueb.casino.domain.GameStatus.IN_PROGRESS
+        """)
+    int complete(
+        @Param("id") Long id,
+        @Param("outcome") GameOutcome outcome,
+        @Param("serverRoll") short serverRoll,
+        @Param("clientRoll") short clientRoll,
+        @Param("serverDice") byte[] serverDice,
+        @Param("clientDice") byte[] clientDice,
+        @Param("clientNonce") String clientNonce,
+        @Param("clientNonceHash") String clientNonceHash,
+        @Param("initiatedAt") ZonedDateTime initiatedAt,
+        @Param("completedAt") ZonedDateTime completedAt
+    );
 }
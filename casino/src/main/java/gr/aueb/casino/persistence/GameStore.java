@@ -0,0 +1,44 @@
+package gr.aueb.casino.persistence;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for games, selected with {@code casino.game-store} (jpa | jdbc | memory).
+ * Completion is a compare-and-set from IN_PROGRESS, so no row lock is held between reading a game
+ * and completing it; a caller that loses the race re-reads the stored result.
+ */
+public interface GameStore {
+
+    GameRecord create(Long userId, short diceCount, String serverNonce, String clientNonceHash, String serverNonceHash);
+
+    /**
+     * Creates a game flagged as pre-issued, whose client nonce hash is only committed when it is revealed.
+     */
+    GameRecord preIssue(Long userId, short diceCount, String serverNonce, String serverNonceHash);
+
+    Optional<GameRecord> findById(Long id);
+
+    boolean complete(Long id, GameCompletion completion);
+
+    /**
+     * Whether writes take part in the caller's transaction on the primary. When they do not, a completion
+     * can commit while the caller's transaction rolls back, and the caller records it again on a replay.
+     */
+    default boolean isTransactional() {
+        return true;
+    }
+
+    List<GameRecord> findRecentCompleted(Long userId, int limit);
+
+    /**
+     * Completed games of the user, newest first, strictly after the (completedAt, id) cursor when one is given.
+     */
+    List<GameRecord> findCompletedBefore(Long userId, ZonedDateTime completedAt, Long id, int limit);
+
+    /**
+     * Deletes up to limit games of the user with ids above afterId, lowest ids first, and returns the deleted ids.
+     */
+    List<Long> deleteByUser(Long userId, long afterId, int limit);
+}
@@ -0,0 +1,129 @@
+package gr.aueb.casino.persistence;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import gr.aueb.casino.domain.GameStatus;
+
+/**
+ * Keeps games in process memory, for benchmarks and single-node demos. Nothing survives a restart,
+ * and the SQL-based history export, rollup rebuild and backfill jobs do not see these games.
+ */
+@Component
+@ConditionalOnProperty(name = "casino.game-store", havingValue = "memory")
+public class InMemoryGameStore implements GameStore {
+    private static final Comparator<HistoryKey> NEWEST_FIRST = Comparator
+        .comparing(HistoryKey::completedAt, Comparator.reverseOrder())
+        .thenComparing(HistoryKey::id, Comparator.reverseOrder());
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, GameRecord> games = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<HistoryKey>> completedByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public GameRecord create(Long userId, short diceCount, String serverNonce, String clientNonceHash, String serverNonceHash) {
+        return insert(userId, diceCount, serverNonce, clientNonceHash, serverNonceHash, false);
+    }
+
+    @Override
+    public GameRecord preIssue(Long userId, short diceCount, String serverNonce, String serverNonceHash) {
+        return insert(userId, diceCount, serverNonce, null, serverNonceHash, true);
+    }
+
+    private GameRecord insert(Long userId, short diceCount, String serverNonce, String clientNonceHash, String serverNonceHash, boolean preIssued) {
+        GameRecord game = new GameRecord(ids.incrementAndGet(), userId, GameStatus.IN_PROGRESS, null, diceCount, null, null, null, null,
+            serverNonce, null, clientNonceHash, serverNonceHash, ZonedDateTime.now(), null, preIssued);
+        games.put(game.id(), game);
+        return game;
+    }
+
+    @Override
+    public Optional<GameRecord> findById(Long id) {
+        return Optional.ofNullable(games.get(id));
+    }
+
+    @Override
+    public boolean complete(Long id, GameCompletion completion) {
+        GameRecord current = games.get(id);
+        if (current == null || current.status() != GameStatus.IN_PROGRESS) {
+            return false;
+        }
+
+        GameRecord completed = new GameRecord(
+            current.id(),
+            current.userId(),
+            GameStatus.COMPLETED,
+            completion.outcome(),
+            current.diceCount(),
+            completion.serverRoll(),
+            completion.clientRoll(),
+            completion.serverDice(),
+            completion.clientDice(),
+            current.serverNonce(),
+            completion.clientNonce(),
+            completion.clientNonceHash(),
+            current.serverNonceHash(),
+            completion.initiatedAt(),
+            completion.completedAt(),
+            current.preIssued()
+        );
+        if (!games.replace(id, current, completed)) {
+            return false;
+        }
+
+        completedByUser.computeIfAbsent(current.userId(), userId -> new ConcurrentSkipListSet<>(NEWEST_FIRST))
+            .add(new HistoryKey(completion.completedAt().toInstant(), id));
+        return true;
+    }
+
+    @Override
+    public List<GameRecord> findRecentCompleted(Long userId, int limit) {
+        return findCompletedBefore(userId, null, null, limit);
+    }
+
+    @Override
+    public List<GameRecord> findCompletedBefore(Long userId, ZonedDateTime completedAt, Long id, int limit) {
+        NavigableSet<HistoryKey> history = completedByUser.get(userId);
+        if (history == null) {
+            return List.of();
+        }
+
+        NavigableSet<HistoryKey> page = completedAt == null
+            ? history
+            : history.tailSet(new HistoryKey(completedAt.toInstant(), id), false);
+        return page.stream()
+            .limit(limit)
+            .map(key -> games.get(key.id()))
+            .toList();
+    }
+
+    @Override
+    public List<Long> deleteByUser(Long userId, long afterId, int limit) {
+        List<GameRecord> doomed = games.values().stream()
+            .filter(game -> game.userId().equals(userId) && game.id() > afterId)
+            .sorted(Comparator.comparing(GameRecord::id))
+            .limit(limit)
+            .toList();
+        NavigableSet<HistoryKey> history = completedByUser.get(userId);
+        for (GameRecord game : doomed) {
+            games.remove(game.id());
+            if (history != null && game.completedAt() != null) {
+                history.remove(new HistoryKey(game.completedAt().toInstant(), game.id()));
+            }
+        }
+        return doomed.stream().map(GameRecord::id).toList();
+    }
+
+    private record HistoryKey(Instant completedAt, long id) {}
+}
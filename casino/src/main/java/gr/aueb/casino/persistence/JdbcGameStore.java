@@ -0,0 +1,211 @@
+package gr.aueb.casino.persistence;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import gr.aueb.casino.domain.GameOutcome;
+import gr.aueb.casino.domain.GameStatus;
+import gr.aueb.casino.sharding.GameIds;
+
+@Component
+@ConditionalOnProperty(name = "casino.game-store", havingValue = "jdbc")
+public class JdbcGameStore implements GameStore {
+    private static final String COLUMNS = """
+        id, user_id, status_id, outcome_id, dice_count, server_roll, client_roll, server_dice, client_dice,
+        r_a, r_b, client_nonce_hash, server_nonce_hash, initiated_at, completed_at, pre_issued
+        """;
+
+    private static final String INSERT = """
+        INSERT INTO games (user_id, status_id, dice_count, r_a, client_nonce_hash, server_nonce_hash, initiated_at, pre_issued)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        RETURNING id
+        """;
+
+    private static final String INSERT_ON_SHARD = """
+        INSERT INTO games (id, user_id, status_id, dice_count, r_a, client_nonce_hash, server_nonce_hash, initiated_at, pre_issued)
+        VALUES ((nextval('games_id_seq') << %d) | %d, ?, ?, ?, ?, ?, ?, ?, ?)
+        RETURNING id
+        """;
+
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM games WHERE id = ?";
+
+    private static final String COMPLETE = """
+        UPDATE games
+        SET status_id = ?, outcome_id = ?, server_roll = ?, client_roll = ?, server_dice = ?, client_dice = ?,
+            r_b = ?, client_nonce_hash = ?, initiated_at = ?, completed_at = ?
+        WHERE id = ? AND status_id = ?
+        """;
+
+    private static final String COMPLETED_PAGE = "SELECT " + COLUMNS + """
+        FROM games
+        WHERE user_id = ? AND status_id = ?
+        ORDER BY completed_at DESC, id DESC
+        LIMIT ?
+        """;
+
+    private static final String COMPLETED_PAGE_BEFORE = "SELECT " + COLUMNS + """
+        FROM games
+        WHERE user_id = ? AND status_id = ? AND (completed_at, id) < (?, ?)
+        ORDER BY completed_at DESC, id DESC
+        LIMIT ?
+        """;
+
+    private static final String DELETE_BY_USER = """
+        DELETE FROM games
+        WHERE id IN (
+            SELECT id FROM games
+            WHERE user_id = ? AND id > ?
+            ORDER BY id
+            LIMIT ?
+        )
+        RETURNING id
+        """;
+
+    private final JdbcClient jdbcClient;
+    private final String insert;
+
+    @Autowired
+    public JdbcGameStore(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+        this.insert = INSERT;
+    }
+
+    /**
+     * A store over one shard database, whose game ids carry the shard id in their low bits.
+     */
+    public static JdbcGameStore forShard(JdbcClient jdbcClient, int shardId) {
+        return new JdbcGameStore(jdbcClient, INSERT_ON_SHARD.formatted(GameIds.SHARD_BITS, shardId));
+    }
+
+    private JdbcGameStore(JdbcClient jdbcClient, String insert) {
+        this.jdbcClient = jdbcClient;
+        this.insert = insert;
+    }
+
+    @Override
+    @Transactional
+    public GameRecord create(Long userId, short diceCount, String serverNonce, String clientNonceHash, String serverNonceHash) {
+        return insert(userId, diceCount, serverNonce, clientNonceHash, serverNonceHash, false);
+    }
+
+    @Override
+    @Transactional
+    public GameRecord preIssue(Long userId, short diceCount, String serverNonce, String serverNonceHash) {
+        return insert(userId, diceCount, serverNonce, null, serverNonceHash, true);
+    }
+
+    private GameRecord insert(Long userId, short diceCount, String serverNonce, String clientNonceHash, String serverNonceHash, boolean preIssued) {
+        ZonedDateTime initiatedAt = ZonedDateTime.now();
+        Long id = jdbcClient.sql(insert)
+            .params(
+                userId,
+                GameStatus.IN_PROGRESS.getId(),
+                diceCount,
+                serverNonce,
+                new SqlParameterValue(Types.VARCHAR, clientNonceHash),
+                serverNonceHash,
+                initiatedAt.toOffsetDateTime(),
+                preIssued
+            )
+            .query(Long.class)
+            .single();
+        return new GameRecord(id, userId, GameStatus.IN_PROGRESS, null, diceCount, null, null, null, null,
+            serverNonce, null, clientNonceHash, serverNonceHash, initiatedAt, null, preIssued);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<GameRecord> findById(Long id) {
+        return jdbcClient.sql(SELECT_BY_ID).param(id).query(this::mapRow).optional();
+    }
+
+    @Override
+    @Transactional
+    public boolean complete(Long id, GameCompletion completion) {
+        return jdbcClient.sql(COMPLETE)
+            .params(
+                GameStatus.COMPLETED.getId(),
+                completion.outcome().getId(),
+                completion.serverRoll(),
+                completion.clientRoll(),
+                new SqlParameterValue(Types.BINARY, completion.serverDice()),
+                new SqlParameterValue(Types.BINARY, completion.clientDice()),
+                completion.clientNonce(),
+                completion.clientNonceHash(),
+                completion.initiatedAt().toOffsetDateTime(),
+                completion.completedAt().toOffsetDateTime(),
+                id,
+                GameStatus.IN_PROGRESS.getId()
+            )
+            .update() == 1;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GameRecord> findRecentCompleted(Long userId, int limit) {
+        return findCompletedBefore(userId, null, null, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GameRecord> findCompletedBefore(Long userId, ZonedDateTime completedAt, Long id, int limit) {
+        if (completedAt == null) {
+            return jdbcClient.sql(COMPLETED_PAGE)
+                .params(userId, GameStatus.COMPLETED.getId(), limit)
+                .query(this::mapRow)
+                .list();
+        }
+        return jdbcClient.sql(COMPLETED_PAGE_BEFORE)
+            .params(userId, GameStatus.COMPLETED.getId(), completedAt.toOffsetDateTime(), id, limit)
+            .query(this::mapRow)
+            .list();
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteByUser(Long userId, long afterId, int limit) {
+        return jdbcClient.sql(DELETE_BY_USER)
+            .params(userId, afterId, limit)
+            .query(Long.class)
+            .list();
+    }
+
+    private GameRecord mapRow(ResultSet rs, int rowNum) throws SQLException {
+        short outcomeId = rs.getShort("outcome_id");
+        GameOutcome outcome = rs.wasNull() ? null : GameOutcome.fromId(outcomeId);
+        return new GameRecord(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            GameStatus.fromId(rs.getShort("status_id")),
+            outcome,
+            rs.getShort("dice_count"),
+            rs.getObject("server_roll", Short.class),
+            rs.getObject("client_roll", Short.class),
+            rs.getBytes("server_dice"),
+            rs.getBytes("client_dice"),
+            rs.getString("r_a"),
+            rs.getString("r_b"),
+            rs.getString("client_nonce_hash"),
+            rs.getString("server_nonce_hash"),
+            toZoned(rs.getObject("initiated_at", OffsetDateTime.class)),
+            toZoned(rs.getObject("completed_at", OffsetDateTime.class)),
+            rs.getBoolean("pre_issued")
+        );
+    }
+
+    private ZonedDateTime toZoned(OffsetDateTime value) {
+        return value == null ? null : value.toZonedDateTime();
+    }
+}
@@ -0,0 +1,105 @@
+package gr.aueb.casino.persistence;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import gr.aueb.casino.domain.Game;
+import gr.aueb.casino.domain.GameStatus;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@ConditionalOnProperty(name = "casino.game-store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaGameStore implements GameStore {
+    private final GameRepository gameRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public GameRecord create(Long userId, short diceCount, String serverNonce, String clientNonceHash, String serverNonceHash) {
+        Game game = new Game(userRepository.getReferenceById(userId), GameStatus.IN_PROGRESS, diceCount, serverNonce, clientNonceHash, serverNonceHash, false);
+        return toRecord(gameRepository.save(game));
+    }
+
+    @Override
+    @Transactional
+    public GameRecord preIssue(Long userId, short diceCount, String serverNonce, String serverNonceHash) {
+        Game game = new Game(userRepository.getReferenceById(userId), GameStatus.IN_PROGRESS, diceCount, serverNonce, null, serverNonceHash, true);
+        return toRecord(gameRepository.save(game));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<GameRecord> findById(Long id) {
+        return gameRepository.findById(id).map(this::toRecord);
+    }
+
+    @Override
+    @Transactional
+    public boolean complete(Long id, GameCompletion completion) {
+        return gameRepository.complete(
+            id,
+            completion.outcome(),
+            completion.serverRoll(),
+            completion.clientRoll(),
+            completion.serverDice(),
+            completion.clientDice(),
+            completion.clientNonce(),
+            completion.clientNonceHash(),
+            completion.initiatedAt(),
+            completion.completedAt()
+        ) == 1;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GameRecord> findRecentCompleted(Long userId, int limit) {
+        return findCompletedBefore(userId, null, null, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GameRecord> findCompletedBefore(Long userId, ZonedDateTime completedAt, Long id, int limit) {
+        List<Game> games = completedAt == null
+            ? gameRepository.findCompletedByUserId(userId, PageRequest.ofSize(limit))
+            : gameRepository.findCompletedByUserIdBefore(userId, completedAt, id, PageRequest.ofSize(limit));
+        return games.stream().map(this::toRecord).toList();
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteByUser(Long userId, long afterId, int limit) {
+        List<Long> ids = gameRepository.findIdsByUserIdAfter(userId, afterId, PageRequest.ofSize(limit));
+        if (!ids.isEmpty()) {
+            gameRepository.deleteAllByIdInBatch(ids);
+        }
+        return ids;
+    }
+
+    private GameRecord toRecord(Game game) {
+        return new GameRecord(
+            game.getId(),
+            game.getUser().getId(),
+            game.getStatus(),
+            game.getOutcome(),
+            game.getDiceCount(),
+            game.getServerRoll(),
+            game.getClientRoll(),
+            game.getServerDice(),
+            game.getClientDice(),
+            game.getServerNonce(),
+            game.getClientNonce(),
+            game.getClientNonceHash(),
+            game.getServerNonceHash(),
+            game.getInitiatedAt(),
+            game.getCompletedAt(),
+            game.isPreIssued()
+        );
+    }
+}
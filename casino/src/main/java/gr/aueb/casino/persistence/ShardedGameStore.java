@@ -0,0 +1,149 @@
+package gr.aueb.casino.persistence;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.Lifecycle;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import gr.aueb.casino.sharding.ShardRouter;
+
+/**
+ * Spreads games over shard databases by user id. Reads by id go straight to the shard encoded in
+ * the id; only a game that a reshard has moved off that shard falls back to asking the others.
+ * Each call is a single auto-committed statement on its shard, outside the caller's transaction.
+ * Statements go through statementSources, the pools wrapped like the primary's for metrics and
+ * tracing, while the pools themselves are closed and opened again around a CRaC checkpoint.
+ */
+public class ShardedGameStore implements GameStore, Lifecycle, AutoCloseable {
+    private final ShardRouter router;
+    private final List<HikariDataSource> dataSources;
+    private final List<HikariCheckpointRestoreLifecycle> checkpointRestoreLifecycles;
+    private final List<JdbcGameStore> shards = new ArrayList<>();
+
+    public ShardedGameStore(
+        ShardRouter router,
+        List<HikariDataSource> dataSources,
+        List<DataSource> statementSources,
+        ConfigurableApplicationContext applicationContext
+    ) {
+        this.router = router;
+        this.dataSources = List.copyOf(dataSources);
+        this.checkpointRestoreLifecycles = dataSources.stream()
+            .map(dataSource -> new HikariCheckpointRestoreLifecycle(dataSource, applicationContext))
+            .toList();
+        for (int shardId = 0; shardId < statementSources.size(); shardId++) {
+            shards.add(JdbcGameStore.forShard(JdbcClient.create(statementSources.get(shardId)), shardId));
+        }
+    }
+
+    @Override
+    public GameRecord create(Long userId, short diceCount, String serverNonce, String clientNonceHash, String serverNonceHash) {
+        return shards.get(router.shardForUser(userId)).create(userId, diceCount, serverNonce, clientNonceHash, serverNonceHash);
+    }
+
+    @Override
+    public GameRecord preIssue(Long userId, short diceCount, String serverNonce, String serverNonceHash) {
+        return shards.get(router.shardForUser(userId)).preIssue(userId, diceCount, serverNonce, serverNonceHash);
+    }
+
+    @Override
+    public Optional<GameRecord> findById(Long id) {
+        int home = router.shardForGame(id);
+        if (home < 0) {
+            return Optional.empty();
+        }
+        Optional<GameRecord> game = shards.get(home).findById(id);
+        if (game.isPresent()) {
+            return game;
+        }
+        for (int shardId = 0; shardId < shards.size(); shardId++) {
+            if (shardId != home) {
+                game = shards.get(shardId).findById(id);
+                if (game.isPresent()) {
+                    return game;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+
+    @Override
+    public boolean complete(Long id, GameCompletion completion) {
+        int home = router.shardForGame(id);
+        if (home < 0) {
+            return false;
+        }
+        if (shards.get(home).complete(id, completion)) {
+            return true;
+        }
+        // A home row that is still there lost the compare-and-set; only a row a reshard moved away
+        // is completed where it lives now, or a stale copy on the new owner would complete twice
+        if (shards.get(home).findById(id).isPresent()) {
+            return false;
+        }
+        return findById(id)
+            .map(game -> shards.get(router.shardForUser(game.userId())).complete(id, completion))
+            .orElse(false);
+    }
+
+    @Override
+    public List<GameRecord> findRecentCompleted(Long userId, int limit) {
+        return shards.get(router.shardForUser(userId)).findRecentCompleted(userId, limit);
+    }
+
+    @Override
+    public List<GameRecord> findCompletedBefore(Long userId, ZonedDateTime completedAt, Long id, int limit) {
+        return shards.get(router.shardForUser(userId)).findCompletedBefore(userId, completedAt, id, limit);
+    }
+
+    /**
+     * Deletes from the user's shard first and tops the batch up from the others, where a reshard may
+     * have left games behind. Ids from different shards interleave, so a caller resuming after the
+     * highest deleted id should finish with a pass from zero.
+     */
+    @Override
+    public List<Long> deleteByUser(Long userId, long afterId, int limit) {
+        int owner = router.shardForUser(userId);
+        List<Long> deleted = new ArrayList<>(shards.get(owner).deleteByUser(userId, afterId, limit));
+        for (int shardId = 0; shardId < shards.size() && deleted.size() < limit; shardId++) {
+            if (shardId != owner) {
+                deleted.addAll(shards.get(shardId).deleteByUser(userId, afterId, limit - deleted.size()));
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public void start() {
+        checkpointRestoreLifecycles.forEach(HikariCheckpointRestoreLifecycle::start);
+    }
+
+    @Override
+    public void stop() {
+        checkpointRestoreLifecycles.forEach(HikariCheckpointRestoreLifecycle::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return checkpointRestoreLifecycles.stream().allMatch(HikariCheckpointRestoreLifecycle::isRunning);
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,30 @@
+package gr.aueb.casino.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import gr.aueb.casino.domain.UserStats;
+
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_stats AS s (user_id, wins, losses, ties, expired, current_win_streak, longest_win_streak)
+        VALUES (:userId, :wins, :losses, :ties, :expired, :wins, :wins)
+        ON CONFLICT (user_id) DO UPDATE SET
+            wins = s.wins + EXCLUDED.wins,
+            losses = s.losses + EXCLUDED.losses,
+            ties = s.ties + EXCLUDED.ties,
+            expired = s.expired + EXCLUDED.expired,
+            current_win_streak = CASE WHEN EXCLUDED.wins > 0 THEN s.current_win_streak + 1 ELSE 0 END,
+            longest_win_streak = GREATEST(s.longest_win_streak, CASE WHEN EXCLUDED.wins > 0 THEN s.current_win_streak + 1 ELSE 0 END)
+        """, nativeQuery = true)
+    void applyDelta(
+        @Param("userId") Long userId,
+        @Param("wins") int wins,
+        @Param("losses") int losses,
+        @Param("ties") int ties,
+        @Param("expired") int expired
+    );
+}
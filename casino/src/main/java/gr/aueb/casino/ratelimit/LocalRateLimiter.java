@@ -0,0 +1,54 @@
+package gr.aueb.casino.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "casino.rate-limit.mode", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+    private final ConcurrentHashMap<Long, AtomicLong> theoreticalArrivalTimes = new ConcurrentHashMap<>();
+    private final long burst;
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+
+    public LocalRateLimiter(
+        @Value("${casino.rate-limit.requests-per-second:5}") double requestsPerSecond,
+        @Value("${casino.rate-limit.burst:20}") long burst
+    ) {
+        this.burst = burst;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.toleranceNanos = emissionIntervalNanos * burst;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(Long userId) {
+        long now = System.nanoTime();
+        AtomicLong arrivalTime = theoreticalArrivalTimes.get(userId);
+        if (arrivalTime == null) {
+            arrivalTime = theoreticalArrivalTimes.computeIfAbsent(userId, id -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long current = arrivalTime.get();
+            long newArrivalTime = (current - now > 0 ? current : now) + emissionIntervalNanos;
+            long excess = newArrivalTime - now - toleranceNanos;
+            if (excess > 0) {
+                return new RateLimitDecision(false, burst, 0, excess);
+            }
+            if (arrivalTime.compareAndSet(current, newArrivalTime)) {
+                return new RateLimitDecision(true, burst, -excess / emissionIntervalNanos, 0);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        theoreticalArrivalTimes.values().removeIf(arrivalTime -> arrivalTime.get() - now <= 0);
+    }
+}
@@ -0,0 +1,12 @@
+package gr.aueb.casino.ratelimit;
+
+public record RateLimitDecision(
+    boolean allowed,
+    long limit,
+    long remaining,
+    long retryAfterNanos
+) {
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+    }
+}
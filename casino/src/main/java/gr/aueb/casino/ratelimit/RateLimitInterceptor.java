@@ -0,0 +1,39 @@
+package gr.aueb.casino.ratelimit;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import gr.aueb.casino.exception.custom.RateLimitExceededException;
+import gr.aueb.casino.security.UserDetailsAdapter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsAdapter userDetails)) {
+            return true;
+        }
+
+        RateLimitDecision decision = rateLimiter.tryAcquire(userDetails.getId());
+        response.setHeader("X-RateLimit-Limit", Long.toString(decision.limit()));
+        response.setHeader("X-RateLimit-Remaining", Long.toString(decision.remaining()));
+
+        if (!decision.allowed()) {
+            throw new RateLimitExceededException("Too many requests. Please slow down.", decision.retryAfterSeconds());
+        }
+        return true;
+    }
+}
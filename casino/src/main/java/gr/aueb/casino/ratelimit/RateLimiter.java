@@ -0,0 +1,5 @@
+package gr.aueb.casino.ratelimit;
+
+public interface RateLimiter {
+    RateLimitDecision tryAcquire(Long userId);
+}
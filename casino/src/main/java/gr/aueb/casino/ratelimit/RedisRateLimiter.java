@@ -0,0 +1,72 @@
+package gr.aueb.casino.ratelimit;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "casino.rate-limit.mode", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+    private static final String KEY_PREFIX = "casino:rate-limit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> GCRA_SCRIPT = RedisScript.of("""
+        local emission = tonumber(ARGV[1])
+        local tolerance = tonumber(ARGV[2])
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+        local tat = tonumber(redis.call('GET', KEYS[1]))
+        if not tat or tat < now then
+            tat = now
+        end
+        local new_tat = tat + emission
+        local excess = new_tat - now - tolerance
+        if excess > 0 then
+            return {0, 0, excess}
+        end
+        redis.call('SET', KEYS[1], new_tat, 'PX', math.ceil((new_tat - now) / 1000))
+        return {1, math.floor(-excess / emission), 0}
+        """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long burst;
+    private final long emissionIntervalMicros;
+    private final long toleranceMicros;
+
+    public RedisRateLimiter(
+        StringRedisTemplate redisTemplate,
+        @Value("${casino.rate-limit.requests-per-second:5}") double requestsPerSecond,
+        @Value("${casino.rate-limit.burst:20}") long burst
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.burst = burst;
+        this.emissionIntervalMicros = (long) (1_000_000L / requestsPerSecond);
+        this.toleranceMicros = emissionIntervalMicros * burst;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(Long userId) {
+        try {
+            List<?> result = redisTemplate.execute(
+                GCRA_SCRIPT,
+                List.of(KEY_PREFIX + userId),
+                Long.toString(emissionIntervalMicros),
+                Long.toString(toleranceMicros)
+            );
+            boolean allowed = ((Number) result.get(0)).longValue() == 1;
+            long remaining = ((Number) result.get(1)).longValue();
+            long retryAfterNanos = ((Number) result.get(2)).longValue() * 1_000;
+            return new RateLimitDecision(allowed, burst, remaining, retryAfterNanos);
+        } catch (RuntimeException e) {
+            log.warn("Redis rate limiter unavailable, allowing request for user {}: {}", userId, e.getMessage());
+            return new RateLimitDecision(true, burst, burst, 0);
+        }
+    }
+}
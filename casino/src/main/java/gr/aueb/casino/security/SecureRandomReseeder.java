@@ -0,0 +1,38 @@
+package gr.aueb.casino.security;
+
+import java.nio.ByteBuffer;
+import java.security.DrbgParameters;
+import java.security.SecureRandom;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class SecureRandomReseeder implements Resource {
+    private final SecureRandom secureRandom;
+
+    public SecureRandomReseeder(SecureRandom secureRandom) {
+        this.secureRandom = secureRandom;
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        byte[] additionalInput = ByteBuffer.allocate(3 * Long.BYTES)
+            .putLong(ProcessHandle.current().pid())
+            .putLong(System.nanoTime())
+            .putLong(System.currentTimeMillis())
+            .array();
+        secureRandom.reseed(DrbgParameters.reseed(true, additionalInput));
+        log.info("Reseeded the nonce generator from fresh entropy after restore");
+    }
+}
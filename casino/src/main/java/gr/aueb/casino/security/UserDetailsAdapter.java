@@ -3,7 +3,7 @@ package gr.aueb.casino.security;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -20,12 +20,18 @@ public class UserDetailsAdapter implements UserDetails, Serializable {
     private final String firstName;
     private final String email;
     private final String password;
+    private final boolean admin;
 
     public UserDetailsAdapter(User user) {
+        this(user, false);
+    }
+
+    public UserDetailsAdapter(User user, boolean admin) {
         this.id = user.getId();
         this.firstName = user.getFirstName();
         this.email = user.getEmail();
         this.password = user.getPassword();
+        this.admin = admin;
     }
 
     public Long getId() {
@@ -48,7 +54,10 @@ public class UserDetailsAdapter implements UserDetails, Serializable {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        if (admin) {
+            return List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
     }
 
     @Override
@@ -1,5 +1,8 @@
 package gr.aueb.casino.security;
 
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -7,17 +10,29 @@ import org.springframework.stereotype.Service;
 
 import gr.aueb.casino.domain.User;
 import gr.aueb.casino.persistence.UserRepository;
-import lombok.RequiredArgsConstructor;
+import gr.aueb.casino.service.ErasureService;
 
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
     private final UserRepository userRepository;
+    private final ErasureService erasureService;
+    private final Set<String> adminEmails;
+
+    public UserDetailsServiceImpl(
+        UserRepository userRepository,
+        ErasureService erasureService,
+        @Value("${casino.admin.emails:}") Set<String> adminEmails
+    ) {
+        this.userRepository = userRepository;
+        this.erasureService = erasureService;
+        this.adminEmails = adminEmails;
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(username)
+            .filter(found -> !erasureService.isRequested(found.getId()))
             .orElseThrow(() -> new UsernameNotFoundException("There is no user with email: " + username));
-        return new UserDetailsAdapter(user);
+        return new UserDetailsAdapter(user, adminEmails.contains(user.getEmail()));
     }
 }
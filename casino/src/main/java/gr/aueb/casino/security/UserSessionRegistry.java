@@ -0,0 +1,67 @@
+package gr.aueb.casino.security;
+
+import java.util.Set;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.authentication.event.InteractiveAuthenticationSuccessEvent;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Remembers the session ids each user signed in with, in one Redis set per user, so that all of a
+ * user's sessions can be ended without indexing every session by principal. The set is written once
+ * per login, after the session id has been rotated, and ids of sessions that have since ended are
+ * pruned then.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSessionRegistry {
+    private static final String KEY_PREFIX = "casino:user-sessions:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SessionRepository<? extends Session> sessionRepository;
+
+    @EventListener
+    public void onLogin(InteractiveAuthenticationSuccessEvent event) {
+        if (event.getAuthentication().getPrincipal() instanceof UserDetailsAdapter user
+            && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpSession session = attributes.getRequest().getSession(false);
+            if (session != null) {
+                register(user.getId(), session.getId());
+            }
+        }
+    }
+
+    public void register(Long userId, String sessionId) {
+        String key = KEY_PREFIX + userId;
+        Set<String> known = redisTemplate.opsForSet().members(key);
+        if (known != null) {
+            Object[] ended = known.stream()
+                .filter(id -> sessionRepository.findById(id) == null)
+                .toArray();
+            if (ended.length > 0) {
+                redisTemplate.opsForSet().remove(key, ended);
+            }
+        }
+        redisTemplate.opsForSet().add(key, sessionId);
+    }
+
+    /**
+     * Deletes every session the user signed in with and forgets them.
+     */
+    public void invalidateAll(Long userId) {
+        String key = KEY_PREFIX + userId;
+        Set<String> sessionIds = redisTemplate.opsForSet().members(key);
+        if (sessionIds != null) {
+            sessionIds.forEach(sessionRepository::deleteById);
+        }
+        redisTemplate.delete(key);
+    }
+}
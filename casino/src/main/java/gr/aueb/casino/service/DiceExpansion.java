@@ -0,0 +1,50 @@
+package gr.aueb.casino.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Derives any number of dice from one commit-reveal exchange. The byte stream is
+ * SHA-256(role + serverNonce + clientNonce + counter) for counter = 0, 1, ...; bytes at or above 252
+ * are rejected so that every face is equally likely, and each accepted byte b becomes b % 6 + 1.
+ */
+final class DiceExpansion {
+    private static final int FACES = 6;
+    private static final int ACCEPT_BELOW = 256 - 256 % FACES;
+
+    private DiceExpansion() {}
+
+    static byte[] roll(String role, String serverNonce, String clientNonce, int count) {
+        MessageDigest sha256 = sha256();
+        byte[] dice = new byte[count];
+        int rolled = 0;
+
+        for (int counter = 0; rolled < count; counter++) {
+            byte[] block = sha256.digest((role + serverNonce + clientNonce + counter).getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < block.length && rolled < count; i++) {
+                int value = block[i] & 0xFF;
+                if (value < ACCEPT_BELOW) {
+                    dice[rolled++] = (byte) (value % FACES + 1);
+                }
+            }
+        }
+        return dice;
+    }
+
+    static short sum(byte[] dice) {
+        short total = 0;
+        for (byte die : dice) {
+            total += die;
+        }
+        return total;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 must be supported by JVM spec", e);
+        }
+    }
+}
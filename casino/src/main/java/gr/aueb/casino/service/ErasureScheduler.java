@@ -0,0 +1,53 @@
+package gr.aueb.casino.service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs erasures on a thread of its own rather than the shared scheduler, which the pauses between
+ * batches would otherwise hold for most of a job.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "casino.erasure.worker.enabled", havingValue = "true", matchIfMissing = true)
+public class ErasureScheduler {
+    private final ErasureService erasureService;
+    private final long intervalMs;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("erasure-"));
+
+    public ErasureScheduler(
+        ErasureService erasureService,
+        @Value("${casino.erasure.worker.interval-ms:5000}") long intervalMs
+    ) {
+        this.erasureService = erasureService;
+        this.intervalMs = intervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.scheduleWithFixedDelay(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    void tick() {
+        try {
+            erasureService.processNext();
+        } catch (RuntimeException e) {
+            log.warn("Erasure failed, retrying once its lease runs out: {}", e.getMessage());
+        }
+    }
+}
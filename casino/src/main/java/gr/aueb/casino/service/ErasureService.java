@@ -0,0 +1,286 @@
+package gr.aueb.casino.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import gr.aueb.casino.api.schemas.response.ErasureJobResponse;
+import gr.aueb.casino.event.UserErasedEvent;
+import gr.aueb.casino.exception.custom.UserNotFoundException;
+import gr.aueb.casino.persistence.GameStore;
+import gr.aueb.casino.security.UserSessionRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Erases a user in stages recorded in erasure_jobs: sign out of every session, delete games and
+ * round entries in keyset batches, then delete the account. Each batch is its own short statement
+ * followed by a pause sized to keep the job at its duty cycle, so it yields to live traffic and slows
+ * down by itself when the database does. A worker holds a lease on the job it runs; if it dies the
+ * lease runs out and another worker resumes from the recorded stage and cursor.
+ */
+@Slf4j
+@Service
+public class ErasureService {
+    private static final String REQUEST = """
+        INSERT INTO erasure_jobs (user_id, stage)
+        SELECT id, 'SIGN_OUT' FROM users WHERE id = ?
+        ON CONFLICT (user_id) DO NOTHING
+        """;
+
+    private static final String SELECT_JOB = """
+        SELECT user_id, stage, games_erased, requested_at, completed_at
+        FROM erasure_jobs
+        WHERE user_id = ?
+        """;
+
+    private static final String IS_REQUESTED = "SELECT EXISTS (SELECT 1 FROM erasure_jobs WHERE user_id = ?)";
+
+    private static final String CLAIM_JOB = """
+        UPDATE erasure_jobs
+        SET lease_until = now() + make_interval(secs => ?)
+        WHERE user_id = (
+            SELECT user_id FROM erasure_jobs
+            WHERE stage <> 'COMPLETED' AND (lease_until IS NULL OR lease_until < now())
+            ORDER BY requested_at
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING user_id, stage, stage_cursor
+        """;
+
+    private static final String ADVANCE = """
+        UPDATE erasure_jobs
+        SET stage = ?, stage_cursor = 0, lease_until = now() + make_interval(secs => ?)
+        WHERE user_id = ?
+        """;
+
+    private static final String CHECKPOINT = """
+        UPDATE erasure_jobs
+        SET stage_cursor = ?, games_erased = games_erased + ?, lease_until = now() + make_interval(secs => ?)
+        WHERE user_id = ?
+        """;
+
+    private static final String DELETE_ROUND_ENTRIES = """
+        DELETE FROM game_round_entries
+        WHERE user_id = ? AND round_id IN (
+            SELECT round_id FROM game_round_entries
+            WHERE user_id = ? AND round_id > ?
+            ORDER BY round_id
+            LIMIT ?
+        )
+        RETURNING round_id
+        """;
+
+    private static final String DELETE_STATS = "DELETE FROM user_stats WHERE user_id = ?";
+    private static final String DELETE_USER = "DELETE FROM users WHERE id = ?";
+
+    private static final String COMPLETE = """
+        UPDATE erasure_jobs
+        SET stage = 'COMPLETED', games_erased = games_erased + ?, lease_until = NULL, completed_at = now()
+        WHERE user_id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GameStore gameStore;
+    private final UserSessionRegistry userSessionRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter gamesErasedCounter;
+    private final int batchSize;
+    private final double dutyCycle;
+    private final long leaseSeconds;
+
+    public ErasureService(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        GameStore gameStore,
+        UserSessionRegistry userSessionRegistry,
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry,
+        @Value("${casino.erasure.batch-size:500}") int batchSize,
+        @Value("${casino.erasure.duty-cycle:0.1}") double dutyCycle,
+        @Value("${casino.erasure.lease-seconds:60}") long leaseSeconds
+    ) {
+        if (dutyCycle <= 0 || dutyCycle > 1) {
+            throw new IllegalArgumentException("casino.erasure.duty-cycle must be in (0, 1], was " + dutyCycle + ".");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.gameStore = gameStore;
+        this.userSessionRegistry = userSessionRegistry;
+        this.eventPublisher = eventPublisher;
+        this.gamesErasedCounter = Counter.builder("erasure.games.erased")
+            .description("Games deleted by user erasures")
+            .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.dutyCycle = dutyCycle;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * Records an erasure for the user, or returns the one already recorded.
+     */
+    @Transactional
+    public ErasureJobResponse request(Long userId) {
+        jdbcTemplate.update(REQUEST, userId);
+        return getJob(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public ErasureJobResponse getJob(Long userId) {
+        return jdbcTemplate.query(SELECT_JOB, (rs, rowNum) -> new ErasureJobResponse(
+                rs.getLong("user_id"),
+                rs.getString("stage"),
+                rs.getLong("games_erased"),
+                rs.getObject("requested_at", OffsetDateTime.class),
+                rs.getObject("completed_at", OffsetDateTime.class)
+            ), userId)
+            .stream()
+            .findFirst()
+            .orElseThrow(() -> new UserNotFoundException("There is no user or erasure with id: " + userId));
+    }
+
+    /**
+     * Reads the primary, so a user cannot sign back in on replica lag once their erasure is recorded.
+     */
+    public boolean isRequested(Long userId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_REQUESTED, Boolean.class, userId));
+    }
+
+    /**
+     * Claims the oldest unfinished erasure with a free lease and runs it to completion from its recorded
+     * stage. Returns false when there was nothing to claim.
+     */
+    public boolean processNext() {
+        List<ClaimedJob> claimed = jdbcTemplate.query(CLAIM_JOB, (rs, rowNum) -> new ClaimedJob(
+            rs.getLong("user_id"),
+            Stage.valueOf(rs.getString("stage")),
+            rs.getLong("stage_cursor")
+        ), leaseSeconds);
+        if (claimed.isEmpty()) {
+            return false;
+        }
+
+        ClaimedJob job = claimed.get(0);
+        Long userId = job.userId();
+        Stage stage = job.stage();
+        long cursor = job.cursor();
+        log.info("Resuming erasure of user {} at stage {}", userId, stage);
+
+        if (stage == Stage.SIGN_OUT) {
+            signOut(userId);
+            stage = advance(userId, Stage.GAMES);
+            cursor = 0;
+        }
+        if (stage == Stage.GAMES) {
+            drain(userId, Stage.GAMES, cursor, after -> gameStore.deleteByUser(userId, after, batchSize));
+            stage = advance(userId, Stage.ROUND_ENTRIES);
+            cursor = 0;
+        }
+        if (stage == Stage.ROUND_ENTRIES) {
+            drain(userId, Stage.ROUND_ENTRIES, cursor, after -> jdbcTemplate.queryForList(
+                DELETE_ROUND_ENTRIES, Long.class, userId, userId, after, batchSize));
+            stage = advance(userId, Stage.ACCOUNT);
+        }
+        if (stage == Stage.ACCOUNT) {
+            signOut(userId);
+            deleteAccount(userId, deleteRemainingGames(userId));
+        }
+
+        log.info("Erased user {}", userId);
+        return true;
+    }
+
+    /**
+     * Deletes batch after batch from the cursor up, then makes one more pass from zero for rows the
+     * keyset walk could not see, such as games on another shard with lower ids.
+     */
+    private void drain(Long userId, Stage stage, long cursor, LongFunction<List<Long>> deleteAfter) {
+        while (true) {
+            long started = System.nanoTime();
+            List<Long> deleted = deleteAfter.apply(cursor);
+            long elapsed = System.nanoTime() - started;
+
+            if (deleted.isEmpty()) {
+                if (cursor == 0) {
+                    return;
+                }
+                cursor = 0;
+                continue;
+            }
+
+            cursor = Collections.max(deleted);
+            int games = stage == Stage.GAMES ? deleted.size() : 0;
+            long pauseNanos = (long) (elapsed * (1 - dutyCycle) / dutyCycle);
+            double leaseFor = leaseSeconds + pauseNanos / 1e9;
+            jdbcTemplate.update(CHECKPOINT, cursor, games, leaseFor, userId);
+            gamesErasedCounter.increment(games);
+            pause(pauseNanos);
+        }
+    }
+
+    private void pause(long pauseNanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(pauseNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Erasure was interrupted, it resumes once its lease runs out.", e);
+        }
+    }
+
+    private void signOut(Long userId) {
+        userSessionRegistry.invalidateAll(userId);
+    }
+
+    /**
+     * Deletes games started after the batched pass, e.g. by a request already in flight when the
+     * sessions went, through the same store as the GAMES stage so that sharded games go too.
+     */
+    private int deleteRemainingGames(Long userId) {
+        int erased = 0;
+        List<Long> deleted;
+        do {
+            deleted = gameStore.deleteByUser(userId, 0, batchSize);
+            erased += deleted.size();
+        } while (!deleted.isEmpty());
+        gamesErasedCounter.increment(erased);
+        return erased;
+    }
+
+    private void deleteAccount(Long userId, int gamesErased) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_STATS, userId);
+            jdbcTemplate.update(DELETE_USER, userId);
+            jdbcTemplate.update(COMPLETE, gamesErased, userId);
+            eventPublisher.publishEvent(new UserErasedEvent(userId, ZonedDateTime.now()));
+        });
+    }
+
+    private Stage advance(Long userId, Stage next) {
+        jdbcTemplate.update(ADVANCE, next.name(), leaseSeconds, userId);
+        return next;
+    }
+
+    enum Stage {
+        SIGN_OUT,
+        GAMES,
+        ROUND_ENTRIES,
+        ACCOUNT,
+        COMPLETED
+    }
+
+    private record ClaimedJob(Long userId, Stage stage, long cursor) {}
+}
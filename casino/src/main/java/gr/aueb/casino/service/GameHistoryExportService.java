@@ -0,0 +1,125 @@
+package gr.aueb.casino.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import gr.aueb.casino.persistence.GameRecord;
+import gr.aueb.casino.persistence.GameStore;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class GameHistoryExportService {
+    private static final int PAGE_SIZE = 500;
+
+    private static final String CSV_HEADER = "game_id,server_roll,client_roll,outcome,initiated_at,completed_at,server_dice,client_dice";
+
+    private final GameStore gameStore;
+    private final ObjectMapper objectMapper;
+
+    public void exportNdjson(Long userId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            streamCompletedGames(userId, game -> {
+                try {
+                    generator.writeStartObject();
+                    generator.writeNumberField("gameId", game.id());
+                    generator.writeNumberField("serverRoll", game.serverRoll());
+                    generator.writeNumberField("clientRoll", game.clientRoll());
+                    generator.writeStringField("outcome", game.outcome().name());
+                    generator.writeStringField("initiatedAt", toUtc(game.initiatedAt()).toString());
+                    generator.writeStringField("completedAt", toUtc(game.completedAt()).toString());
+                    writeDice(generator, "serverDice", game.serverDice());
+                    writeDice(generator, "clientDice", game.clientDice());
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    public void exportCsv(Long userId, OutputStream out) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            streamCompletedGames(userId, game -> {
+                try {
+                    writer.write(game.id() + ","
+                        + game.serverRoll() + ","
+                        + game.clientRoll() + ","
+                        + game.outcome() + ","
+                        + toUtc(game.initiatedAt()) + ","
+                        + toUtc(game.completedAt()) + ","
+                        + formatDice(game.serverDice()) + ","
+                        + formatDice(game.clientDice()));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeDice(JsonGenerator generator, String field, byte[] dice) throws IOException {
+        if (dice == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(field);
+        for (byte die : dice) {
+            generator.writeNumber(die);
+        }
+        generator.writeEndArray();
+    }
+
+    private String formatDice(byte[] dice) {
+        if (dice == null) {
+            return "";
+        }
+        StringBuilder values = new StringBuilder();
+        for (byte die : dice) {
+            if (!values.isEmpty()) {
+                values.append(' ');
+            }
+            values.append(die);
+        }
+        return values.toString();
+    }
+
+    private OffsetDateTime toUtc(ZonedDateTime timestamp) {
+        return timestamp.toOffsetDateTime().withOffsetSameInstant(ZoneOffset.UTC);
+    }
+
+    /**
+     * Walks the user's completed games newest first, a keyset page at a time, through the game store so
+     * that games living on a shard are exported too. Each page is its own read, so no connection or
+     * persistence context is held while the client drains the response.
+     */
+    private void streamCompletedGames(Long userId, Consumer<GameRecord> consumer) {
+        List<GameRecord> page = gameStore.findRecentCompleted(userId, PAGE_SIZE);
+        while (!page.isEmpty()) {
+            page.forEach(consumer);
+            if (page.size() < PAGE_SIZE) {
+                return;
+            }
+            GameRecord last = page.get(page.size() - 1);
+            page = gameStore.findCompletedBefore(userId, last.completedAt(), last.id(), PAGE_SIZE);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package gr.aueb.casino.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import gr.aueb.casino.api.schemas.response.InitiateGameResponse;
+import gr.aueb.casino.exception.custom.IdempotencyKeyInProgressException;
+import gr.aueb.casino.exception.custom.IdempotencyKeyMismatchException;
+import gr.aueb.casino.exception.custom.InvalidIdempotencyKeyException;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class GameInitiationIdempotencyService {
+    private static final Duration TTL = Duration.ofSeconds(GameService.EXPIRATION_SECONDS);
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REDIS_POLL_INTERVAL = Duration.ofMillis(50);
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String REDIS_KEY_PREFIX = "casino:idempotency:initiate:";
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisStore;
+    private final int maxLocalEntries;
+
+    public GameInitiationIdempotencyService(
+        StringRedisTemplate redisTemplate,
+        ObjectMapper objectMapper,
+        @Value("${casino.idempotency.store:local}") String store,
+        @Value("${casino.idempotency.max-local-entries:100000}") int maxLocalEntries
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisStore = "redis".equals(store);
+        this.maxLocalEntries = maxLocalEntries;
+    }
+
+    public InitiateGameResponse execute(Long userId, String idempotencyKey, String fingerprint, Supplier<InitiateGameResponse> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        String key = userId + ":" + idempotencyKey;
+        long now = System.nanoTime();
+
+        if (entries.size() >= maxLocalEntries) {
+            evictExpired();
+            if (entries.size() >= maxLocalEntries) {
+                log.warn("Idempotency cache is full, executing request with key {} without deduplication", idempotencyKey);
+                return action.get();
+            }
+        }
+
+        Entry fresh = new Entry(fingerprint, new CompletableFuture<>(), now + TTL.toNanos());
+        Entry entry = entries.compute(key, (k, current) -> current == null || current.isExpired(now) ? fresh : current);
+
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key was already used with a different request body.");
+        }
+
+        if (entry != fresh) {
+            return await(entry.response());
+        }
+
+        try {
+            InitiateGameResponse response = redisStore
+                ? executeWithRedis(key, fingerprint, action)
+                : action.get();
+            fresh.response().complete(response);
+            if (redisStore) {
+                entries.remove(key, fresh);
+            }
+            return response;
+        } catch (RuntimeException e) {
+            entries.remove(key, fresh);
+            fresh.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelay = 10_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private InitiateGameResponse executeWithRedis(String key, String fingerprint, Supplier<InitiateGameResponse> action) {
+        String redisKey = REDIS_KEY_PREFIX + key;
+        Boolean claimed = redisTemplate.opsForValue().setIfAbsent(redisKey, serialize(new StoredResponse(fingerprint, null)), TTL);
+
+        if (Boolean.TRUE.equals(claimed)) {
+            try {
+                InitiateGameResponse response = action.get();
+                redisTemplate.opsForValue().set(redisKey, serialize(new StoredResponse(fingerprint, response)), TTL);
+                return response;
+            } catch (RuntimeException e) {
+                redisTemplate.delete(redisKey);
+                throw e;
+            }
+        }
+
+        long deadline = System.nanoTime() + WAIT_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            String value = redisTemplate.opsForValue().get(redisKey);
+            if (value == null) {
+                return executeWithRedis(key, fingerprint, action);
+            }
+
+            StoredResponse stored = deserialize(value);
+            if (!stored.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyMismatchException("Idempotency-Key was already used with a different request body.");
+            }
+            if (stored.response() != null) {
+                return stored.response();
+            }
+
+            try {
+                Thread.sleep(REDIS_POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still being processed.");
+    }
+
+    private InitiateGameResponse await(CompletableFuture<InitiateGameResponse> response) {
+        try {
+            return response.get(WAIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still being processed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still being processed.");
+        }
+    }
+
+    private String serialize(StoredResponse stored) {
+        try {
+            return objectMapper.writeValueAsString(stored);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent response.", e);
+        }
+    }
+
+    private StoredResponse deserialize(String value) {
+        try {
+            return objectMapper.readValue(value, StoredResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not deserialize idempotent response.", e);
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<InitiateGameResponse> response, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return response.isDone() && now - expiresAtNanos > 0;
+        }
+    }
+
+    record StoredResponse(String fingerprint, InitiateGameResponse response) {}
+}
@@ -0,0 +1,413 @@
+package gr.aueb.casino.service;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import gr.aueb.casino.api.schemas.response.GameRollupResponse;
+import gr.aueb.casino.domain.GameOutcome;
+import gr.aueb.casino.event.GameCompletedEvent;
+import gr.aueb.casino.event.GameInitiatedEvent;
+import gr.aueb.casino.exception.custom.InvalidRollupQueryException;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class GameRollupService implements SmartLifecycle {
+    private static final Duration MAX_MINUTE_RANGE = Duration.ofDays(1);
+    private static final Duration MAX_DAY_RANGE = Duration.ofDays(366);
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final String ADD_DELTA = """
+        INSERT INTO %s AS r (bucket_start, initiated, server_wins, client_wins, ties, expired, reveal_latency_histogram)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (bucket_start) DO UPDATE SET
+            initiated = r.initiated + EXCLUDED.initiated,
+            server_wins = r.server_wins + EXCLUDED.server_wins,
+            client_wins = r.client_wins + EXCLUDED.client_wins,
+            ties = r.ties + EXCLUDED.ties,
+            expired = r.expired + EXCLUDED.expired,
+            reveal_latency_histogram = ARRAY(
+                SELECT a + b
+                FROM unnest(r.reveal_latency_histogram, EXCLUDED.reveal_latency_histogram) WITH ORDINALITY AS h(a, b, i)
+                ORDER BY i
+            )
+        """;
+
+    private static final String INSERT_BUCKET = """
+        INSERT INTO %s (bucket_start, initiated, server_wins, client_wins, ties, expired, reveal_latency_histogram)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    // A bucket is settled once its last game is past expiry, so every game still unrevealed has expired
+    private static final String SELECT_BUCKETS = """
+        SELECT bucket_start, initiated, server_wins, client_wins, ties, expired, reveal_latency_histogram,
+               bucket_start + interval '1 %2$s' + make_interval(secs => %3$d) <= now() AS settled
+        FROM %1$s
+        WHERE bucket_start >= ? AND bucket_start < ?
+        ORDER BY bucket_start
+        """;
+
+    // Pre-issued games only count as initiated once a client has committed to them at reveal
+    private static final String GAMES_INITIATED_BETWEEN = """
+        SELECT initiated_at, completed_at, outcome_id
+        FROM games
+        WHERE initiated_at >= ? AND initiated_at < ? AND (outcome_id IS NOT NULL OR NOT pre_issued)
+        """;
+
+    private static final String COUNTED_INITIATIONS =
+        "SELECT id FROM games WHERE id = ANY(?) AND (outcome_id IS NOT NULL OR NOT pre_issued)";
+
+    private static final String COUNTED_COMPLETIONS = "SELECT id FROM games WHERE id = ANY(?) AND outcome_id IS NOT NULL";
+
+    private static final String MINUTE_TABLE = "game_rollups_minute";
+    private static final String DAY_TABLE = "game_rollups_day";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTransactionTemplate;
+
+    private final ConcurrentHashMap<Instant, RollupBucket> pendingMinutes = new ConcurrentHashMap<>();
+    private final ReadWriteLock intakeLock = new ReentrantReadWriteLock();
+    private RebuildWindow rebuilding;
+    private volatile boolean running;
+
+    public GameRollupService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @TransactionalEventListener
+    public void onGameInitiated(GameInitiatedEvent event) {
+        intakeLock.readLock().lock();
+        try {
+            if (rebuilding != null && rebuilding.covers(minuteOf(event.initiatedAt()))) {
+                rebuilding.heldInitiations().add(event);
+                return;
+            }
+            addPending(event);
+        } finally {
+            intakeLock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onGameCompleted(GameCompletedEvent event) {
+        intakeLock.readLock().lock();
+        try {
+            if (rebuilding != null && rebuilding.covers(minuteOf(event.initiatedAt()))) {
+                rebuilding.heldCompletions().add(event);
+                return;
+            }
+            addPending(event);
+        } finally {
+            intakeLock.readLock().unlock();
+        }
+    }
+
+    private void addPending(GameInitiatedEvent event) {
+        pendingMinutes.compute(minuteOf(event.initiatedAt()), (key, bucket) -> {
+            RollupBucket target = bucket == null ? new RollupBucket() : bucket;
+            target.initiated++;
+            return target;
+        });
+    }
+
+    private void addPending(GameCompletedEvent event) {
+        pendingMinutes.compute(minuteOf(event.initiatedAt()), (key, bucket) -> {
+            RollupBucket target = bucket == null ? new RollupBucket() : bucket;
+            target.add(event.outcome(), event.initiatedAt(), event.completedAt());
+            return target;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${casino.rollups.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Instant, RollupBucket> minutes = new TreeMap<>();
+        for (Instant minute : pendingMinutes.keySet()) {
+            pendingMinutes.computeIfPresent(minute, (key, bucket) -> {
+                minutes.put(key, bucket);
+                return null;
+            });
+        }
+
+        if (minutes.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                writeBuckets(ADD_DELTA.formatted(MINUTE_TABLE), minutes);
+                writeBuckets(ADD_DELTA.formatted(DAY_TABLE), groupByDay(minutes));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Flushing {} rollup buckets failed, retrying on next flush: {}", minutes.size(), e.getMessage());
+            minutes.forEach((minute, bucket) -> pendingMinutes.merge(minute, bucket, (current, failed) -> {
+                current.merge(failed);
+                return current;
+            }));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        flush();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Recounts the days between from and to from the games table. Initiations and completions for those
+     * days are held back while it runs: the ones already pending are dropped, since their games committed
+     * before the recount's snapshot, and of those arriving meanwhile only the ones it did not count are kept.
+     */
+    public synchronized void rebuild(ZonedDateTime from, ZonedDateTime to) {
+        Instant start = from.toInstant().truncatedTo(ChronoUnit.DAYS);
+        Instant end = to.toInstant().truncatedTo(ChronoUnit.DAYS).plus(1, ChronoUnit.DAYS);
+        RebuildWindow window = new RebuildWindow(start, end, new ConcurrentLinkedQueue<>(), new ConcurrentLinkedQueue<>());
+
+        Map<Instant, RollupBucket> dropped = new HashMap<>();
+        intakeLock.writeLock().lock();
+        try {
+            rebuilding = window;
+            for (Instant minute : pendingMinutes.keySet()) {
+                if (window.covers(minute)) {
+                    pendingMinutes.computeIfPresent(minute, (key, bucket) -> {
+                        dropped.put(key, bucket);
+                        return null;
+                    });
+                }
+            }
+        } finally {
+            intakeLock.writeLock().unlock();
+        }
+
+        Uncounted uncounted;
+        try {
+            uncounted = snapshotTransactionTemplate.execute(status -> rebuild(window));
+        } catch (RuntimeException e) {
+            closeWindow();
+            dropped.forEach((minute, bucket) -> pendingMinutes.merge(minute, bucket, (current, restored) -> {
+                current.merge(restored);
+                return current;
+            }));
+            window.heldInitiations().forEach(this::addPending);
+            window.heldCompletions().forEach(this::addPending);
+            throw e;
+        }
+        uncounted.initiations().forEach(this::addPending);
+        uncounted.completions().forEach(this::addPending);
+    }
+
+    private Uncounted rebuild(RebuildWindow window) {
+        Instant start = window.start();
+        Instant end = window.end();
+
+        Map<Instant, RollupBucket> minutes = new TreeMap<>();
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(GAMES_INITIATED_BETWEEN);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setObject(1, start.atOffset(ZoneOffset.UTC));
+                statement.setObject(2, end.atOffset(ZoneOffset.UTC));
+                return statement;
+            },
+            (ResultSet rs) -> {
+                ZonedDateTime initiatedAt = rs.getObject("initiated_at", OffsetDateTime.class).toZonedDateTime();
+                RollupBucket bucket = minutes.computeIfAbsent(minuteOf(initiatedAt), key -> new RollupBucket());
+                bucket.initiated++;
+                Short outcomeId = rs.getObject("outcome_id", Short.class);
+                if (outcomeId != null) {
+                    ZonedDateTime completedAt = rs.getObject("completed_at", OffsetDateTime.class).toZonedDateTime();
+                    bucket.add(GameOutcome.fromId(outcomeId), initiatedAt, completedAt);
+                }
+            }
+        );
+
+        for (String table : List.of(MINUTE_TABLE, DAY_TABLE)) {
+            jdbcTemplate.update(
+                "DELETE FROM " + table + " WHERE bucket_start >= ? AND bucket_start < ?",
+                start.atOffset(ZoneOffset.UTC), end.atOffset(ZoneOffset.UTC)
+            );
+        }
+        writeBuckets(INSERT_BUCKET.formatted(MINUTE_TABLE), minutes);
+        writeBuckets(INSERT_BUCKET.formatted(DAY_TABLE), groupByDay(minutes));
+
+        log.info("Rebuilt game rollups between {} and {} from {} minute buckets", start, end, minutes.size());
+
+        closeWindow();
+        List<GameInitiatedEvent> initiations = List.copyOf(window.heldInitiations());
+        List<GameCompletedEvent> completions = List.copyOf(window.heldCompletions());
+
+        // Still inside the recount's snapshot, so these see exactly the games it counted
+        Set<Long> initiationsCounted = counted(COUNTED_INITIATIONS, initiations.stream().map(GameInitiatedEvent::gameId).toList());
+        Set<Long> completionsCounted = counted(COUNTED_COMPLETIONS, completions.stream().map(GameCompletedEvent::gameId).toList());
+        return new Uncounted(
+            initiations.stream().filter(event -> !initiationsCounted.contains(event.gameId())).toList(),
+            completions.stream().filter(event -> !completionsCounted.contains(event.gameId())).toList()
+        );
+    }
+
+    private Set<Long> counted(String sql, List<Long> gameIds) {
+        if (gameIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setArray(1, connection.createArrayOf("bigint", gameIds.toArray()));
+                return statement;
+            },
+            (rs, rowNum) -> rs.getLong("id")
+        ));
+    }
+
+    private void closeWindow() {
+        intakeLock.writeLock().lock();
+        try {
+            rebuilding = null;
+        } finally {
+            intakeLock.writeLock().unlock();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<GameRollupResponse> getMinuteRollups(OffsetDateTime from, OffsetDateTime to) {
+        return readBuckets(MINUTE_TABLE, from, to, MAX_MINUTE_RANGE);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GameRollupResponse> getDailyRollups(OffsetDateTime from, OffsetDateTime to) {
+        return readBuckets(DAY_TABLE, from, to, MAX_DAY_RANGE);
+    }
+
+    private List<GameRollupResponse> readBuckets(String table, OffsetDateTime from, OffsetDateTime to, Duration maxRange) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRollupQueryException("The 'from' timestamp must be before 'to'.");
+        }
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new InvalidRollupQueryException("The requested range must not exceed " + maxRange.toDays() + " day(s).");
+        }
+
+        String unit = table.equals(MINUTE_TABLE) ? "minute" : "day";
+        String sql = SELECT_BUCKETS.formatted(table, unit, GameService.EXPIRATION_SECONDS);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toResponse(rs), from, to);
+    }
+
+    private GameRollupResponse toResponse(ResultSet rs) throws SQLException {
+        long serverWins = rs.getLong("server_wins");
+        long clientWins = rs.getLong("client_wins");
+        long ties = rs.getLong("ties");
+        long expired = rs.getLong("expired");
+        long completed = serverWins + clientWins + ties + expired;
+        // Buckets written before initiations were counted hold none, so never report fewer than completed
+        long initiated = Math.max(rs.getLong("initiated"), completed);
+        long unrevealed = rs.getBoolean("settled") ? initiated - completed : 0;
+
+        Array histogramArray = rs.getArray("reveal_latency_histogram");
+        Long[] boxed = (Long[]) histogramArray.getArray();
+        long[] histogram = new long[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            histogram[i] = boxed[i];
+        }
+
+        return new GameRollupResponse(
+            rs.getObject("bucket_start", OffsetDateTime.class),
+            serverWins,
+            clientWins,
+            ties,
+            expired,
+            unrevealed,
+            completed,
+            completed + unrevealed == 0 ? 0 : (double) (expired + unrevealed) / (completed + unrevealed),
+            RollupBucket.estimateMedianMillis(histogram)
+        );
+    }
+
+    private static Instant minuteOf(ZonedDateTime initiatedAt) {
+        return initiatedAt.toInstant().truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    private Map<Instant, RollupBucket> groupByDay(Map<Instant, RollupBucket> minutes) {
+        Map<Instant, RollupBucket> days = new TreeMap<>();
+        minutes.forEach((minute, bucket) ->
+            days.computeIfAbsent(minute.truncatedTo(ChronoUnit.DAYS), key -> new RollupBucket()).merge(bucket));
+        return days;
+    }
+
+    private void writeBuckets(String sql, Map<Instant, RollupBucket> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Instant, RollupBucket>> entries = new ArrayList<>(buckets.entrySet());
+        jdbcTemplate.batchUpdate(sql, entries, entries.size(), (statement, entry) -> {
+            RollupBucket bucket = entry.getValue();
+            statement.setObject(1, entry.getKey().atOffset(ZoneOffset.UTC));
+            statement.setLong(2, bucket.initiated);
+            statement.setLong(3, bucket.serverWins);
+            statement.setLong(4, bucket.clientWins);
+            statement.setLong(5, bucket.ties);
+            statement.setLong(6, bucket.expired);
+            statement.setArray(7, statement.getConnection().createArrayOf("bigint", bucket.boxedHistogram()));
+        });
+    }
+
+    private record RebuildWindow(
+        Instant start,
+        Instant end,
+        Queue<GameInitiatedEvent> heldInitiations,
+        Queue<GameCompletedEvent> heldCompletions
+    ) {
+
+        boolean covers(Instant minute) {
+            return !minute.isBefore(start) && minute.isBefore(end);
+        }
+    }
+
+    private record Uncounted(List<GameInitiatedEvent> initiations, List<GameCompletedEvent> completions) {}
+}
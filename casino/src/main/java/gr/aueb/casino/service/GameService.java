@@ -5,95 +5,280 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import io.micrometer.observation.annotation.Observed;
+
+import gr.aueb.casino.api.schemas.response.GameHistoryPageResponse;
 import gr.aueb.casino.api.schemas.response.GameHistoryResponse;
 import gr.aueb.casino.api.schemas.response.InitiateGameResponse;
 import gr.aueb.casino.api.schemas.response.RevealResponse;
-import gr.aueb.casino.domain.Game;
 import gr.aueb.casino.domain.GameOutcome;
+import gr.aueb.casino.domain.GameStatus;
+import gr.aueb.casino.event.GameCompletedEvent;
+import gr.aueb.casino.event.GameInitiatedEvent;
 import gr.aueb.casino.exception.custom.GameAccessDeniedException;
 import gr.aueb.casino.exception.custom.GameNotFoundException;
+import gr.aueb.casino.exception.custom.InvalidHistoryQueryException;
 import gr.aueb.casino.exception.custom.InvalidNonceException;
-import gr.aueb.casino.persistence.GameRepository;
-import gr.aueb.casino.persistence.UserRepository;
+import gr.aueb.casino.exception.custom.PreIssuedGameUnavailableException;
+import gr.aueb.casino.jfr.GameInitiateEvent;
+import gr.aueb.casino.jfr.GameRevealEvent;
+import gr.aueb.casino.persistence.CompletionLedger;
+import gr.aueb.casino.persistence.GameCompletion;
+import gr.aueb.casino.persistence.GameRecord;
+import gr.aueb.casino.persistence.GameStore;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Observed(name = "casino.game.service")
 @RequiredArgsConstructor
 public class GameService {
-    private static final long EXPIRATION_SECONDS = 60;
+    public static final long EXPIRATION_SECONDS = 60;
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int RECENT_GAMES = 5;
 
-    private final GameRepository gameRepository;
-    private final GameStatusCacheService gameStatusCache;
-    private final GameOutcomeCacheService gameOutcomeCache;
-    private final UserRepository userRepository;
+    private final GameStore gameStore;
+    private final CompletionLedger completionLedger;
+    private final UserStatsService userStatsService;
+    private final ApplicationEventPublisher eventPublisher;
     private final SecureRandom secureRandom;
 
     @Transactional
-    public InitiateGameResponse initiateGame(Long userId, String clientNonceHash) {
-        var user = userRepository.getReferenceById(userId);
+    public InitiateGameResponse initiateGame(Long userId, String clientNonceHash, short diceCount) {
+        return initiateGame(userId, clientNonceHash, diceCount, false);
+    }
+
+    @Transactional
+    public InitiateGameResponse preIssueGame(Long userId, short diceCount) {
+        return initiateGame(userId, null, diceCount, true);
+    }
+
+    private InitiateGameResponse initiateGame(Long userId, String clientNonceHash, short diceCount, boolean preIssued) {
+        GameInitiateEvent event = new GameInitiateEvent();
+        event.begin();
 
+        long hashingStart = System.nanoTime();
         String serverNonce = generateNonce();
         String serverNonceHash = computeHash(serverNonce);
+        long persistenceStart = System.nanoTime();
+
+        GameRecord game = preIssued
+            ? gameStore.preIssue(userId, diceCount, serverNonce, serverNonceHash)
+            : gameStore.create(userId, diceCount, serverNonce, clientNonceHash, serverNonceHash);
+        if (!preIssued) {
+            eventPublisher.publishEvent(new GameInitiatedEvent(game.id(), userId, game.initiatedAt()));
+        }
 
-        Game game = new Game(user, gameStatusCache.getInProgress(), serverNonce, clientNonceHash, serverNonceHash);
-        game = gameRepository.save(game);
-        return new InitiateGameResponse(game.getId(), game.getServerNonceHash());
+        long persistenceEnd = System.nanoTime();
+        afterTransaction(() -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.gameId = game.id();
+                event.userId = userId;
+                event.diceCount = diceCount;
+                event.preIssued = preIssued;
+                event.hashingDuration = persistenceStart - hashingStart;
+                event.persistenceDuration = persistenceEnd - persistenceStart;
+                event.commit();
+            }
+        });
+        return new InitiateGameResponse(game.id(), game.serverNonceHash());
     }
 
     @Transactional
-    public RevealResponse revealNonces(Long gameId, String clientNonce, Long userId) {
-        Game game = gameRepository.findWithLockById(gameId)
-            .orElseThrow(() -> new GameNotFoundException("Game with id: " + gameId + " not found."));
+    public RevealResponse revealNonces(Long gameId, String clientNonce, String clientNonceHash, Long userId, boolean claimedPreIssued) {
+        GameRevealEvent event = new GameRevealEvent();
+        event.begin();
+        event.gameId = gameId;
+        event.userId = userId;
+        try {
+            return revealNonces(event, gameId, clientNonce, clientNonceHash, userId, claimedPreIssued);
+        } finally {
+            long commitStart = System.nanoTime();
+            afterTransaction(() -> {
+                event.commitDuration = System.nanoTime() - commitStart;
+                event.end();
+                if (event.shouldCommit()) {
+                    event.commit();
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs once the surrounding transaction has committed or rolled back, so that an event's span
+     * includes the commit, or right away when there is no transaction.
+     */
+    private static void afterTransaction(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    private RevealResponse revealNonces(GameRevealEvent event, Long gameId, String clientNonce, String clientNonceHash, Long userId, boolean claimedPreIssued) {
+        long loadStart = System.nanoTime();
+        GameRecord game = findGame(gameId);
+        long hashingStart = System.nanoTime();
+        event.loadDuration = hashingStart - loadStart;
+        event.diceCount = game.diceCount();
 
         if (!isOwnedBy(game, userId)) {
             throw new GameAccessDeniedException("User with id: " + userId + " does not have access to the game with id: " + gameId);
         }
 
         if (isCompleted(game)) {
-            return new RevealResponse(
-                game.getOutcome().getName(),
-                game.getServerRoll(),
-                game.getClientRoll(),
-                game.getServerNonce()
-            );
+            event.replayed = true;
+            event.outcome = game.outcome().name();
+            recordUnrecordedCompletion(game);
+            return toRevealResponse(game).asReplay();
         }
 
         String expectedHash = computeHash(clientNonce);
-        if (!expectedHash.equals(game.getClientNonceHash())) {
+        String committedHash = game.clientNonceHash();
+        ZonedDateTime initiatedAt = game.initiatedAt();
+        if (isPreIssued(game)) {
+            if (!claimedPreIssued) {
+                throw new PreIssuedGameUnavailableException("Pre-issued game with id: " + gameId + " has expired or was not issued to this session.");
+            }
+            committedHash = clientNonceHash;
+            initiatedAt = ZonedDateTime.now();
+        }
+
+        if (!expectedHash.equals(committedHash)) {
             throw new InvalidNonceException("Client nonce does not match the committed hash.");
         }
 
-        short serverRoll = deriveRoll("server", game.getServerNonce(), clientNonce);
-        short clientRoll = deriveRoll("client", game.getServerNonce(), clientNonce);
+        short serverRoll;
+        short clientRoll;
+        byte[] serverDice = null;
+        byte[] clientDice = null;
+        if (isMultiDice(game)) {
+            serverDice = DiceExpansion.roll("server", game.serverNonce(), clientNonce, game.diceCount());
+            clientDice = DiceExpansion.roll("client", game.serverNonce(), clientNonce, game.diceCount());
+            serverRoll = DiceExpansion.sum(serverDice);
+            clientRoll = DiceExpansion.sum(clientDice);
+        } else {
+            serverRoll = deriveRoll("server", game.serverNonce(), clientNonce);
+            clientRoll = deriveRoll("client", game.serverNonce(), clientNonce);
+        }
 
-        GameOutcome outcome = isExpired(game)
-            ? gameOutcomeCache.getExpired()
+        GameOutcome outcome = isExpired(initiatedAt)
+            ? GameOutcome.EXPIRED
             : determineOutcome(serverRoll, clientRoll);
+        ZonedDateTime completedAt = ZonedDateTime.now();
+        long persistenceStart = System.nanoTime();
+        event.hashingDuration = persistenceStart - hashingStart;
 
-        game.setServerRoll(serverRoll);
-        game.setClientRoll(clientRoll);
-        game.setClientNonce(clientNonce);
-        game.setOutcome(outcome);
-        game.setStatus(gameStatusCache.getCompleted());
-        game.setCompletedAt(ZonedDateTime.now());
-        game = gameRepository.save(game);
+        GameCompletion completion = new GameCompletion(outcome, serverRoll, clientRoll, serverDice, clientDice,
+            clientNonce, committedHash, initiatedAt, completedAt);
+        boolean completed = gameStore.complete(gameId, completion);
+        event.persistenceDuration = System.nanoTime() - persistenceStart;
+        if (!completed) {
+            GameRecord stored = findGame(gameId);
+            event.replayed = true;
+            event.outcome = stored.outcome().name();
+            recordUnrecordedCompletion(stored);
+            return toRevealResponse(stored).asReplay();
+        }
+        event.outcome = outcome.name();
+
+        if (!gameStore.isTransactional()) {
+            completionLedger.claim(gameId);
+        }
+        recordCompletion(gameId, userId, isPreIssued(game), outcome, serverRoll, clientRoll, initiatedAt, completedAt);
 
         return new RevealResponse(
-            game.getOutcome().getName(),
-            game.getServerRoll(),
-            game.getClientRoll(),
-            game.getServerNonce()
+            outcome.name(),
+            serverRoll,
+            clientRoll,
+            game.serverNonce(),
+            toDiceList(serverDice),
+            toDiceList(clientDice)
         );
     }
 
+    /**
+     * A pre-issued game counts as initiated when its client commits to it, which is at its reveal.
+     */
+    private void recordCompletion(Long gameId, Long userId, boolean preIssued, GameOutcome outcome, short serverRoll,
+                                  short clientRoll, ZonedDateTime initiatedAt, ZonedDateTime completedAt) {
+        if (preIssued) {
+            eventPublisher.publishEvent(new GameInitiatedEvent(gameId, userId, initiatedAt));
+        }
+        userStatsService.recordOutcome(userId, outcome);
+        eventPublisher.publishEvent(new GameCompletedEvent(
+            gameId,
+            userId,
+            outcome,
+            serverRoll,
+            clientRoll,
+            initiatedAt,
+            completedAt
+        ));
+    }
+
+    /**
+     * A store outside this transaction may hold a completion whose stats delta and outbox event were
+     * rolled back with the reveal that wrote it; the first replay to claim it records them instead.
+     */
+    private void recordUnrecordedCompletion(GameRecord game) {
+        if (gameStore.isTransactional() || !completionLedger.claim(game.id())) {
+            return;
+        }
+        recordCompletion(game.id(), game.userId(), game.preIssued(), game.outcome(), game.serverRoll(), game.clientRoll(),
+            game.initiatedAt(), game.completedAt());
+    }
+
+    private GameRecord findGame(Long gameId) {
+        return gameStore.findById(gameId)
+            .orElseThrow(() -> new GameNotFoundException("Game with id: " + gameId + " not found."));
+    }
+
+    private RevealResponse toRevealResponse(GameRecord game) {
+        return new RevealResponse(
+            game.outcome().name(),
+            game.serverRoll(),
+            game.clientRoll(),
+            game.serverNonce(),
+            toDiceList(game.serverDice()),
+            toDiceList(game.clientDice())
+        );
+    }
+
+    private List<Integer> toDiceList(byte[] dice) {
+        if (dice == null) {
+            return null;
+        }
+        List<Integer> values = new ArrayList<>(dice.length);
+        for (byte die : dice) {
+            values.add((int) die);
+        }
+        return values;
+    }
+
     private String generateNonce() {
         byte[] bytes = new byte[32];
         secureRandom.nextBytes(bytes);
@@ -120,39 +305,95 @@ public class GameService {
         }
     }
 
-    private boolean isOwnedBy(Game game, Long userId) {
-        return Objects.equals(game.getUser().getId(), userId);
+    private boolean isOwnedBy(GameRecord game, Long userId) {
+        return Objects.equals(game.userId(), userId);
     }
 
-    private boolean isCompleted(Game game) {
-        return Objects.equals(game.getStatus().getName(), "COMPLETED");
+    private boolean isMultiDice(GameRecord game) {
+        return game.diceCount() > 1;
     }
 
-    private boolean isExpired(Game game) {
+    private boolean isPreIssued(GameRecord game) {
+        return game.preIssued();
+    }
+
+    private boolean isCompleted(GameRecord game) {
+        return game.status() == GameStatus.COMPLETED;
+    }
+
+    private boolean isExpired(ZonedDateTime initiatedAt) {
         ZonedDateTime now = ZonedDateTime.now();
-        Duration elapsed = Duration.between(game.getInitiatedAt(), now);
+        Duration elapsed = Duration.between(initiatedAt, now);
         return elapsed.getSeconds() > EXPIRATION_SECONDS;
     }
 
     private GameOutcome determineOutcome(short serverRoll, short clientRoll) {
         if (serverRoll > clientRoll) {
-            return gameOutcomeCache.getServerWin();
+            return GameOutcome.SERVER_WIN;
         } else if (serverRoll == clientRoll) {
-            return gameOutcomeCache.getTie();
+            return GameOutcome.TIE;
         } else {
-            return gameOutcomeCache.getClientWin();
+            return GameOutcome.CLIENT_WIN;
         }
     }
 
     @Transactional(readOnly = true)
     public List<GameHistoryResponse> getRecentGames(Long userId) {
-        return gameRepository.findTop5CompletedByUserId(userId).stream()
-            .map(game -> new GameHistoryResponse(
-                game.getServerRoll(),
-                game.getClientRoll(),
-                game.getOutcome().getName(),
-                game.getCompletedAt()
-            ))
+        return gameStore.findRecentCompleted(userId, RECENT_GAMES).stream()
+            .map(this::toHistoryResponse)
             .toList();
     }
+
+    @Transactional(readOnly = true)
+    public GameHistoryPageResponse getHistoryPage(Long userId, String cursor, Integer pageSize) {
+        int limit = pageSize == null ? DEFAULT_HISTORY_PAGE_SIZE : Math.min(Math.max(pageSize, 1), MAX_HISTORY_PAGE_SIZE);
+
+        List<GameRecord> games;
+        if (cursor == null || cursor.isBlank()) {
+            games = gameStore.findRecentCompleted(userId, limit + 1);
+        } else {
+            HistoryCursor position = decodeCursor(cursor);
+            games = gameStore.findCompletedBefore(userId, position.completedAt(), position.gameId(), limit + 1);
+        }
+
+        boolean hasMore = games.size() > limit;
+        List<GameHistoryResponse> page = games.stream()
+            .limit(limit)
+            .map(this::toHistoryResponse)
+            .toList();
+
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+        return new GameHistoryPageResponse(page, nextCursor);
+    }
+
+    private GameHistoryResponse toHistoryResponse(GameRecord game) {
+        return new GameHistoryResponse(
+            game.id(),
+            game.serverRoll(),
+            game.clientRoll(),
+            game.outcome().name(),
+            game.completedAt(),
+            toDiceList(game.serverDice()),
+            toDiceList(game.clientDice())
+        );
+    }
+
+    private String encodeCursor(GameHistoryResponse last) {
+        String raw = last.completedAt().toInstant() + "|" + last.gameId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HistoryCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            Instant completedAt = Instant.parse(raw.substring(0, separator));
+            Long gameId = Long.valueOf(raw.substring(separator + 1));
+            return new HistoryCursor(ZonedDateTime.ofInstant(completedAt, ZoneOffset.UTC), gameId);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidHistoryQueryException("Invalid history cursor.");
+        }
+    }
+
+    private record HistoryCursor(ZonedDateTime completedAt, Long gameId) {}
 }
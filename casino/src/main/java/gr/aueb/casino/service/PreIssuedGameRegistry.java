@@ -0,0 +1,77 @@
+package gr.aueb.casino.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Tracks the server commitments handed out ahead of time to a session. A pre-issued game can only be
+ * played from the session it was issued to, before it expires, and at most {@code maxOutstanding}
+ * of them are live per session; issuing past the bound forgets the oldest one. A game stays
+ * registered until a reveal of it has committed, so a reveal that fails can be retried.
+ */
+@Component
+public class PreIssuedGameRegistry {
+    private static final String OUTSTANDING = "preIssuedGames";
+
+    private final int maxOutstanding;
+    private final Duration ttl;
+
+    public PreIssuedGameRegistry(
+        @Value("${casino.game.pre-issue.max-outstanding:2}") int maxOutstanding,
+        @Value("${casino.game.pre-issue.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.maxOutstanding = maxOutstanding;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public boolean isEnabled() {
+        return maxOutstanding > 0;
+    }
+
+    public Instant register(HttpSession session, Long gameId) {
+        LinkedHashMap<Long, Long> outstanding = outstanding(session);
+        Instant expiresAt = Instant.now().plus(ttl);
+        outstanding.put(gameId, expiresAt.toEpochMilli());
+
+        Iterator<Long> oldest = outstanding.keySet().iterator();
+        while (outstanding.size() > maxOutstanding) {
+            oldest.next();
+            oldest.remove();
+        }
+        session.setAttribute(OUTSTANDING, outstanding);
+        return expiresAt;
+    }
+
+    public boolean isOutstanding(HttpSession session, Long gameId) {
+        if (!(session.getAttribute(OUTSTANDING) instanceof Map<?, ?> stored)) {
+            return false;
+        }
+        return stored.get(gameId) instanceof Long expiresAt && expiresAt > System.currentTimeMillis();
+    }
+
+    public void release(HttpSession session, Long gameId) {
+        LinkedHashMap<Long, Long> outstanding = outstanding(session);
+        long now = System.currentTimeMillis();
+        boolean changed = outstanding.remove(gameId) != null;
+        changed |= outstanding.values().removeIf(expiry -> expiry <= now);
+        if (changed) {
+            session.setAttribute(OUTSTANDING, outstanding);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private LinkedHashMap<Long, Long> outstanding(HttpSession session) {
+        if (session.getAttribute(OUTSTANDING) instanceof Map<?, ?> stored) {
+            return new LinkedHashMap<>((Map<Long, Long>) stored);
+        }
+        return new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,141 @@
+package gr.aueb.casino.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import gr.aueb.casino.api.schemas.response.RevealResponse;
+
+/**
+ * Single-flight for reveals within this node: while a reveal of a game is running, identical reveals
+ * of the same game (same user and nonces, typically client retries) wait for it and get its response
+ * instead of going to the database themselves. A reveal with different inputs never joins; it runs on
+ * its own and the store's compare-and-set decides. Flights live in a fixed set of lock-striped maps
+ * and are removed by their leader as soon as it finishes, whatever the outcome.
+ */
+@Component
+public class RevealCoalescer {
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final Counter coalesced;
+
+    public RevealCoalescer(
+        MeterRegistry meterRegistry,
+        @Value("${casino.game.reveal-coalescing.stripes:64}") int stripeCount
+    ) {
+        int size = Integer.highestOneBit(Math.max(stripeCount - 1, 1)) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.coalesced = Counter.builder("game.reveal.coalesced")
+            .description("Reveals answered with the response of an identical reveal already in flight")
+            .register(meterRegistry);
+    }
+
+    public RevealResponse reveal(Long gameId, Long userId, String clientNonce, String clientNonceHash, Supplier<RevealResponse> action) {
+        Stripe stripe = stripes[Long.hashCode(gameId * 0x9E3779B97F4A7C15L) & mask];
+        Flight flight;
+        boolean leader = false;
+
+        stripe.lock.lock();
+        try {
+            flight = stripe.flights.get(gameId);
+            if (flight == null) {
+                flight = new Flight(userId, clientNonce, clientNonceHash);
+                stripe.flights.put(gameId, flight);
+                leader = true;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        if (leader) {
+            return lead(stripe, gameId, flight, action);
+        }
+        if (!flight.matches(userId, clientNonce, clientNonceHash)) {
+            return action.get();
+        }
+
+        RevealResponse response = await(flight.response);
+        if (response == null) {
+            return action.get();
+        }
+        coalesced.increment();
+        return response;
+    }
+
+    private RevealResponse lead(Stripe stripe, Long gameId, Flight flight, Supplier<RevealResponse> action) {
+        try {
+            RevealResponse response = action.get();
+            flight.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            flight.response.completeExceptionally(e);
+            throw e;
+        } finally {
+            stripe.lock.lock();
+            try {
+                stripe.flights.remove(gameId, flight);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    // A null result means the leader is taking too long, and the caller should reveal on its own
+    private RevealResponse await(CompletableFuture<RevealResponse> response) {
+        try {
+            return response.get(WAIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final HashMap<Long, Flight> flights = new HashMap<>();
+    }
+
+    private static final class Flight {
+        private final Long userId;
+        private final String clientNonce;
+        private final String clientNonceHash;
+        private final CompletableFuture<RevealResponse> response = new CompletableFuture<>();
+
+        private Flight(Long userId, String clientNonce, String clientNonceHash) {
+            this.userId = userId;
+            this.clientNonce = clientNonce;
+            this.clientNonceHash = clientNonceHash;
+        }
+
+        private boolean matches(Long userId, String clientNonce, String clientNonceHash) {
+            return this.userId.equals(userId)
+                && this.clientNonce.equals(clientNonce)
+                && Objects.equals(this.clientNonceHash, clientNonceHash);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package gr.aueb.casino.service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+import gr.aueb.casino.domain.GameOutcome;
+
+class RollupBucket {
+    static final long[] LATENCY_UPPER_BOUNDS_MILLIS = {100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000};
+
+    long initiated;
+    long serverWins;
+    long clientWins;
+    long ties;
+    long expired;
+    final long[] latencyHistogram = new long[LATENCY_UPPER_BOUNDS_MILLIS.length + 1];
+
+    void add(GameOutcome outcome, ZonedDateTime initiatedAt, ZonedDateTime completedAt) {
+        switch (outcome) {
+            case SERVER_WIN -> serverWins++;
+            case CLIENT_WIN -> clientWins++;
+            case TIE -> ties++;
+            case EXPIRED -> expired++;
+        }
+        latencyHistogram[latencyBucket(Duration.between(initiatedAt, completedAt).toMillis())]++;
+    }
+
+    void merge(RollupBucket other) {
+        initiated += other.initiated;
+        serverWins += other.serverWins;
+        clientWins += other.clientWins;
+        ties += other.ties;
+        expired += other.expired;
+        for (int i = 0; i < latencyHistogram.length; i++) {
+            latencyHistogram[i] += other.latencyHistogram[i];
+        }
+    }
+
+    Long[] boxedHistogram() {
+        return Arrays.stream(latencyHistogram).boxed().toArray(Long[]::new);
+    }
+
+    static Long estimateMedianMillis(long[] histogram) {
+        long total = Arrays.stream(histogram).sum();
+        if (total == 0) {
+            return null;
+        }
+
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen * 2 >= total) {
+                return i < LATENCY_UPPER_BOUNDS_MILLIS.length
+                    ? LATENCY_UPPER_BOUNDS_MILLIS[i]
+                    : LATENCY_UPPER_BOUNDS_MILLIS[LATENCY_UPPER_BOUNDS_MILLIS.length - 1];
+            }
+        }
+        return null;
+    }
+
+    private static int latencyBucket(long millis) {
+        for (int i = 0; i < LATENCY_UPPER_BOUNDS_MILLIS.length; i++) {
+            if (millis <= LATENCY_UPPER_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_UPPER_BOUNDS_MILLIS.length;
+    }
+}
@@ -0,0 +1,34 @@
+package gr.aueb.casino.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "casino.rooms.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomRoundScheduler {
+    private final RoomService roomService;
+    private final int maxClosesPerRun;
+
+    public RoomRoundScheduler(RoomService roomService, @Value("${casino.rooms.max-closes-per-run:10}") int maxClosesPerRun) {
+        this.roomService = roomService;
+        this.maxClosesPerRun = maxClosesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${casino.rooms.tick-interval-ms:1000}")
+    public void tick() {
+        try {
+            int closed = 0;
+            while (closed < maxClosesPerRun && roomService.closeDueRound() >= 0) {
+                closed++;
+            }
+            roomService.openRoundIfNoneOpen();
+        } catch (RuntimeException e) {
+            log.warn("Round scheduling failed, retrying on next tick: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package gr.aueb.casino.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Array;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import gr.aueb.casino.api.schemas.response.RoundEntryResponse;
+import gr.aueb.casino.api.schemas.response.RoundResponse;
+import gr.aueb.casino.domain.GameOutcome;
+import gr.aueb.casino.exception.custom.InvalidNonceException;
+import gr.aueb.casino.exception.custom.InvalidRoundEntryException;
+import gr.aueb.casino.exception.custom.RoundNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class RoomService {
+    private static final String OPEN_ROUND = """
+        INSERT INTO game_rounds (server_nonce, server_nonce_hash, closes_at)
+        VALUES (?, ?, now() + make_interval(secs => ?))
+        ON CONFLICT DO NOTHING
+        """;
+
+    private static final String CURRENT_ROUND = """
+        SELECT id, server_nonce_hash, closes_at
+        FROM game_rounds
+        WHERE closed_at IS NULL
+        """;
+
+    // FOR SHARE on the round row keeps joins and reveals from interleaving with a close in progress
+    private static final String JOIN_ROUND = """
+        INSERT INTO game_round_entries (round_id, user_id, client_nonce_hash)
+        SELECT id, ?, ?
+        FROM game_rounds
+        WHERE id = ? AND closed_at IS NULL AND closes_at > now()
+        FOR SHARE
+        ON CONFLICT DO NOTHING
+        """;
+
+    private static final String REVEAL_ENTRY = """
+        UPDATE game_round_entries e
+        SET client_nonce = ?
+        FROM (
+            SELECT id FROM game_rounds
+            WHERE id = ? AND closed_at IS NULL AND closes_at > now()
+            FOR SHARE
+        ) r
+        WHERE e.round_id = r.id AND e.user_id = ? AND e.client_nonce_hash = ?
+        """;
+
+    private static final String CLAIM_DUE_ROUND = """
+        UPDATE game_rounds
+        SET closed_at = now()
+        WHERE id = (
+            SELECT id FROM game_rounds
+            WHERE closed_at IS NULL AND closes_at <= now()
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id, server_nonce
+        """;
+
+    private static final String ENTRIES_CHUNK = """
+        SELECT user_id, client_nonce
+        FROM game_round_entries
+        WHERE round_id = ? AND user_id > ?
+        ORDER BY user_id
+        LIMIT ?
+        """;
+
+    private static final String RESOLVE_ENTRIES = """
+        UPDATE game_round_entries e
+        SET server_roll = r.server_roll, client_roll = r.client_roll, outcome_id = r.outcome_id
+        FROM unnest(?::bigint[], ?::smallint[], ?::smallint[], ?::smallint[]) AS r(user_id, server_roll, client_roll, outcome_id)
+        WHERE e.round_id = ? AND e.user_id = r.user_id
+        """;
+
+    private static final String ENTRY_RESULT = """
+        SELECT e.round_id, e.client_nonce, e.server_roll, e.client_roll, e.outcome_id, r.server_nonce, r.closed_at
+        FROM game_round_entries e
+        JOIN game_rounds r ON r.id = e.round_id
+        WHERE e.round_id = ? AND e.user_id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecureRandom secureRandom;
+    private final Duration roundLength;
+    private final int closeBatchSize;
+
+    public RoomService(
+        JdbcTemplate jdbcTemplate,
+        SecureRandom secureRandom,
+        @Value("${casino.rooms.round-seconds:30}") long roundSeconds,
+        @Value("${casino.rooms.close-batch-size:10000}") int closeBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.secureRandom = secureRandom;
+        this.roundLength = Duration.ofSeconds(roundSeconds);
+        this.closeBatchSize = closeBatchSize;
+    }
+
+    @Transactional
+    public boolean openRoundIfNoneOpen() {
+        String serverNonce = generateNonce();
+        return jdbcTemplate.update(OPEN_ROUND, serverNonce, computeHash(serverNonce), roundLength.toSeconds()) == 1;
+    }
+
+    @Transactional(readOnly = true)
+    public RoundResponse getCurrentRound() {
+        return jdbcTemplate.query(CURRENT_ROUND, (rs, rowNum) -> new RoundResponse(
+                rs.getLong("id"),
+                rs.getString("server_nonce_hash"),
+                rs.getObject("closes_at", OffsetDateTime.class)
+            ))
+            .stream()
+            .findFirst()
+            .orElseThrow(() -> new RoundNotFoundException("No round is currently open."));
+    }
+
+    @Transactional
+    public void join(Long roundId, Long userId, String clientNonceHash) {
+        if (jdbcTemplate.update(JOIN_ROUND, userId, clientNonceHash, roundId) == 0) {
+            throw new InvalidRoundEntryException("Round with id: " + roundId + " is not open or already has an entry for this user.");
+        }
+    }
+
+    @Transactional
+    public void reveal(Long roundId, Long userId, String clientNonce) {
+        if (jdbcTemplate.update(REVEAL_ENTRY, clientNonce, roundId, userId, computeHash(clientNonce)) == 0) {
+            throw new InvalidNonceException("Client nonce does not match an entry in open round with id: " + roundId + ".");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public RoundEntryResponse getEntry(Long roundId, Long userId) {
+        return jdbcTemplate.query(ENTRY_RESULT, (rs, rowNum) -> {
+                boolean closed = rs.getObject("closed_at") != null;
+                short outcomeId = rs.getShort("outcome_id");
+                boolean resolved = !rs.wasNull();
+                return new RoundEntryResponse(
+                    rs.getLong("round_id"),
+                    rs.getString("client_nonce") != null,
+                    resolved ? GameOutcome.fromId(outcomeId).name() : null,
+                    resolved ? rs.getObject("server_roll", Short.class) : null,
+                    resolved ? rs.getObject("client_roll", Short.class) : null,
+                    closed ? rs.getString("server_nonce") : null
+                );
+            }, roundId, userId)
+            .stream()
+            .findFirst()
+            .orElseThrow(() -> new RoundNotFoundException("No entry in round with id: " + roundId + " for this user."));
+    }
+
+    /**
+     * Closes one round whose window has ended and resolves all of its entries, keyset-chunked by
+     * user id with one UPDATE ... FROM unnest(...) per chunk. Returns the number of entries resolved,
+     * or -1 when no round was due.
+     */
+    @Transactional
+    public int closeDueRound() {
+        List<ClosingRound> due = jdbcTemplate.query(CLAIM_DUE_ROUND, (rs, rowNum) ->
+            new ClosingRound(rs.getLong("id"), rs.getString("server_nonce")));
+        if (due.isEmpty()) {
+            return -1;
+        }
+
+        ClosingRound round = due.get(0);
+        int resolved = 0;
+        long lastUserId = 0;
+        while (true) {
+            List<PendingEntry> chunk = jdbcTemplate.query(ENTRIES_CHUNK, (rs, rowNum) ->
+                new PendingEntry(rs.getLong("user_id"), rs.getString("client_nonce")), round.id(), lastUserId, closeBatchSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            resolveChunk(round, chunk);
+            resolved += chunk.size();
+            lastUserId = chunk.get(chunk.size() - 1).userId();
+            if (chunk.size() < closeBatchSize) {
+                break;
+            }
+        }
+
+        log.info("Closed round {} with {} entries", round.id(), resolved);
+        return resolved;
+    }
+
+    private void resolveChunk(ClosingRound round, List<PendingEntry> chunk) {
+        Long[] userIds = new Long[chunk.size()];
+        Short[] serverRolls = new Short[chunk.size()];
+        Short[] clientRolls = new Short[chunk.size()];
+        Short[] outcomes = new Short[chunk.size()];
+
+        for (int i = 0; i < chunk.size(); i++) {
+            PendingEntry entry = chunk.get(i);
+            userIds[i] = entry.userId();
+            if (entry.clientNonce() == null) {
+                outcomes[i] = GameOutcome.EXPIRED.getId();
+                continue;
+            }
+            String playerContext = entry.clientNonce() + entry.userId() + ":";
+            short serverRoll = DiceExpansion.roll("server", round.serverNonce(), playerContext, 1)[0];
+            short clientRoll = DiceExpansion.roll("client", round.serverNonce(), playerContext, 1)[0];
+            serverRolls[i] = serverRoll;
+            clientRolls[i] = clientRoll;
+            outcomes[i] = determineOutcome(serverRoll, clientRoll).getId();
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            Array userIdArray = connection.createArrayOf("bigint", userIds);
+            Array serverRollArray = connection.createArrayOf("smallint", serverRolls);
+            Array clientRollArray = connection.createArrayOf("smallint", clientRolls);
+            Array outcomeArray = connection.createArrayOf("smallint", outcomes);
+            try (var statement = connection.prepareStatement(RESOLVE_ENTRIES)) {
+                statement.setArray(1, userIdArray);
+                statement.setArray(2, serverRollArray);
+                statement.setArray(3, clientRollArray);
+                statement.setArray(4, outcomeArray);
+                statement.setObject(5, round.id(), Types.BIGINT);
+                return statement.executeUpdate();
+            } finally {
+                userIdArray.free();
+                serverRollArray.free();
+                clientRollArray.free();
+                outcomeArray.free();
+            }
+        });
+    }
+
+    private GameOutcome determineOutcome(short serverRoll, short clientRoll) {
+        if (serverRoll > clientRoll) {
+            return GameOutcome.SERVER_WIN;
+        } else if (serverRoll == clientRoll) {
+            return GameOutcome.TIE;
+        } else {
+            return GameOutcome.CLIENT_WIN;
+        }
+    }
+
+    private String generateNonce() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private String computeHash(String input) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(input.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 must be supported by JVM spec", e);
+        }
+    }
+
+    private record ClosingRound(long id, String serverNonce) {}
+
+    private record PendingEntry(long userId, String clientNonce) {}
+}
@@ -0,0 +1,40 @@
+package gr.aueb.casino.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import gr.aueb.casino.api.schemas.response.UserStatsResponse;
+import gr.aueb.casino.domain.GameOutcome;
+import gr.aueb.casino.persistence.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+    private final UserStatsRepository userStatsRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOutcome(Long userId, GameOutcome outcome) {
+        switch (outcome) {
+            case CLIENT_WIN -> userStatsRepository.applyDelta(userId, 1, 0, 0, 0);
+            case SERVER_WIN -> userStatsRepository.applyDelta(userId, 0, 1, 0, 0);
+            case TIE -> userStatsRepository.applyDelta(userId, 0, 0, 1, 0);
+            case EXPIRED -> userStatsRepository.applyDelta(userId, 0, 0, 0, 1);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public UserStatsResponse getStats(Long userId) {
+        return userStatsRepository.findById(userId)
+            .map(stats -> new UserStatsResponse(
+                stats.getWins(),
+                stats.getLosses(),
+                stats.getTies(),
+                stats.getExpired(),
+                stats.getCurrentWinStreak(),
+                stats.getLongestWinStreak()
+            ))
+            .orElseGet(() -> new UserStatsResponse(0, 0, 0, 0, 0, 0));
+    }
+}
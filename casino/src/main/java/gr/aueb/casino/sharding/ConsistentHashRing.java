@@ -0,0 +1,58 @@
+package gr.aueb.casino.sharding;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Maps user ids onto shards with {@code virtualNodes} points per shard. Adding a shard to a ring of n
+ * only moves roughly 1/(n+1) of the users, all of them onto the new shard.
+ */
+public final class ConsistentHashRing {
+    private final long[] points;
+    private final int[] owners;
+    private final Set<Integer> shardIds;
+
+    public ConsistentHashRing(Collection<Integer> shardIds, int virtualNodes) {
+        if (shardIds.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one shard.");
+        }
+        this.shardIds = Set.copyOf(shardIds);
+
+        long[][] entries = new long[this.shardIds.size() * virtualNodes][];
+        int i = 0;
+        for (int shardId : this.shardIds) {
+            for (int node = 0; node < virtualNodes; node++) {
+                entries[i++] = new long[] {mix(((long) shardId << 32) | node), shardId};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        points = new long[entries.length];
+        owners = new int[entries.length];
+        for (int j = 0; j < entries.length; j++) {
+            points[j] = entries[j][0];
+            owners[j] = (int) entries[j][1];
+        }
+    }
+
+    public int shardFor(long userId) {
+        int index = Arrays.binarySearch(points, mix(userId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public Set<Integer> shardIds() {
+        return shardIds;
+    }
+
+    // SplitMix64 finalizer: cheap, and spreads sequential user ids evenly around the ring
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
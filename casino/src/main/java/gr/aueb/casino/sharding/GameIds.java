@@ -0,0 +1,23 @@
+package gr.aueb.casino.sharding;
+
+/**
+ * Game ids on sharded storage are {@code (shard-local sequence << SHARD_BITS) | shardId}, so they are
+ * unique across shards and the shard a game was created on can be read off the id without a lookup.
+ */
+public final class GameIds {
+    public static final int SHARD_BITS = 10;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private static final long SHARD_MASK = MAX_SHARDS - 1;
+
+    private GameIds() {
+    }
+
+    public static long encode(long localId, int shardId) {
+        return (localId << SHARD_BITS) | shardId;
+    }
+
+    public static int shardOf(long gameId) {
+        return (int) (gameId & SHARD_MASK);
+    }
+}
@@ -0,0 +1,176 @@
+package gr.aueb.casino.sharding;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import gr.aueb.casino.domain.GameStatus;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Brings JOINING shards into the ring while the application keeps serving, in three steps:
+ * <ol>
+ *   <li>copy the completed games of every user the new ring moves, leaving the source rows in place;</li>
+ *   <li>cut over by marking the joining shards ACTIVE, then wait for every instance to pick up the new
+ *       ring and for games still in flight on the old owner to finish or expire;</li>
+ *   <li>copy again, now including games completed since the first pass, and delete the moved rows
+ *       from their source shard.</li>
+ * </ol>
+ * Every step is idempotent, so an interrupted run can simply be started again. A run with no shard
+ * JOINING only moves games left on a shard that no longer owns their user.
+ */
+@Slf4j
+public class Resharder {
+    private static final String COLUMNS = """
+        id, user_id, status_id, outcome_id, dice_count, server_roll, client_roll, server_dice, client_dice,
+        r_a, r_b, client_nonce_hash, server_nonce_hash, initiated_at, completed_at, pre_issued
+        """;
+
+    private static final String SHARDS_IN_STATE = "SELECT id FROM game_shards WHERE state = ?";
+
+    private static final String ACTIVATE_JOINING = "UPDATE game_shards SET state = 'ACTIVE', updated_at = now() WHERE state = 'JOINING'";
+
+    private static final String NEXT_USERS = """
+        SELECT DISTINCT user_id FROM games
+        WHERE user_id > ?
+        ORDER BY user_id
+        LIMIT ?
+        """;
+
+    private static final String GAMES_OF_USERS = "SELECT " + COLUMNS + """
+        FROM games
+        WHERE user_id BETWEEN ? AND ?
+        """;
+
+    private static final String COPY_GAME = "INSERT INTO games (" + COLUMNS + """
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (id) DO UPDATE SET
+            status_id = EXCLUDED.status_id,
+            outcome_id = EXCLUDED.outcome_id,
+            server_roll = EXCLUDED.server_roll,
+            client_roll = EXCLUDED.client_roll,
+            server_dice = EXCLUDED.server_dice,
+            client_dice = EXCLUDED.client_dice,
+            r_b = EXCLUDED.r_b,
+            client_nonce_hash = EXCLUDED.client_nonce_hash,
+            initiated_at = EXCLUDED.initiated_at,
+            completed_at = EXCLUDED.completed_at
+        """;
+
+    // A game completed on the source after it was copied keeps its source row until the next run
+    private static final String DELETE_GAME = "DELETE FROM games WHERE id = ? AND status_id = ?";
+
+    private final JdbcTemplate primary;
+    private final List<JdbcTemplate> shards;
+    private final int virtualNodes;
+    private final int chunkSize;
+    private final Duration cutoverGrace;
+
+    public Resharder(JdbcTemplate primary, List<JdbcTemplate> shards, int virtualNodes, int chunkSize, Duration cutoverGrace) {
+        this.primary = primary;
+        this.shards = List.copyOf(shards);
+        this.virtualNodes = virtualNodes;
+        this.chunkSize = chunkSize;
+        this.cutoverGrace = cutoverGrace;
+    }
+
+    /**
+     * Returns the number of games moved to a new shard.
+     */
+    public long run() throws InterruptedException {
+        Set<Integer> active = new HashSet<>(primary.queryForList(SHARDS_IN_STATE, Integer.class, "ACTIVE"));
+        Set<Integer> joining = new HashSet<>(primary.queryForList(SHARDS_IN_STATE, Integer.class, "JOINING"));
+        ConsistentHashRing before = new ConsistentHashRing(active, virtualNodes);
+        if (joining.isEmpty()) {
+            long moved = moveGames(before, before, true);
+            log.info("No shard is JOINING, moved {} games left behind by an earlier run", moved);
+            return moved;
+        }
+
+        Set<Integer> target = new HashSet<>(active);
+        target.addAll(joining);
+        ConsistentHashRing after = new ConsistentHashRing(target, virtualNodes);
+
+        long copied = moveGames(before, after, false);
+        log.info("Copied {} completed games ahead of cutover to shards {}", copied, joining);
+
+        primary.update(ACTIVATE_JOINING);
+        log.info("Shards {} are ACTIVE, waiting {} s for instances to route to the new ring", joining, cutoverGrace.toSeconds());
+        Thread.sleep(cutoverGrace.toMillis());
+
+        long moved = moveGames(before, after, true);
+        log.info("Moved {} games to their new shards", moved);
+        return moved;
+    }
+
+    private long moveGames(ConsistentHashRing before, ConsistentHashRing after, boolean cleanUp) {
+        long total = 0;
+        for (int source : before.shardIds()) {
+            JdbcTemplate sourceShard = shards.get(source);
+            long lastUserId = 0;
+            while (true) {
+                List<Long> users = sourceShard.queryForList(NEXT_USERS, Long.class, lastUserId, chunkSize);
+                if (users.isEmpty()) {
+                    break;
+                }
+                total += moveChunk(source, after, users.get(0), users.get(users.size() - 1), cleanUp);
+                lastUserId = users.get(users.size() - 1);
+                if (users.size() < chunkSize) {
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+
+    private long moveChunk(int source, ConsistentHashRing after, long firstUserId, long lastUserId, boolean cleanUp) {
+        Map<Integer, List<Object[]>> byDestination = new HashMap<>();
+        List<Object[]> movedIds = new ArrayList<>();
+
+        for (Object[] game : shards.get(source).query(GAMES_OF_USERS, this::mapRow, firstUserId, lastUserId)) {
+            int destination = after.shardFor((Long) game[1]);
+            boolean completed = (Short) game[2] == GameStatus.COMPLETED.getId();
+            if (destination == source || (!cleanUp && !completed)) {
+                continue;
+            }
+            byDestination.computeIfAbsent(destination, shardId -> new ArrayList<>()).add(game);
+            movedIds.add(new Object[] {game[0], game[2]});
+        }
+
+        byDestination.forEach((destination, games) -> shards.get(destination).batchUpdate(COPY_GAME, games));
+        if (cleanUp && !movedIds.isEmpty()) {
+            shards.get(source).batchUpdate(DELETE_GAME, movedIds);
+        }
+        return movedIds.size();
+    }
+
+    private Object[] mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Object[] {
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getShort("status_id"),
+            rs.getObject("outcome_id", Short.class),
+            rs.getShort("dice_count"),
+            rs.getObject("server_roll", Short.class),
+            rs.getObject("client_roll", Short.class),
+            rs.getBytes("server_dice"),
+            rs.getBytes("client_dice"),
+            rs.getString("r_a"),
+            rs.getString("r_b"),
+            rs.getString("client_nonce_hash"),
+            rs.getString("server_nonce_hash"),
+            rs.getObject("initiated_at", OffsetDateTime.class),
+            rs.getObject("completed_at", OffsetDateTime.class),
+            rs.getBoolean("pre_issued")
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package gr.aueb.casino.sharding;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code java -jar casino.jar reshard}: moves games onto the shards that are JOINING in
+ * {@code game_shards}, against a running deployment. Append the new shard's URL to
+ * {@code casino.sharding.shard-urls} and roll it out first, so every instance has a pool for it.
+ */
+@Slf4j
+@ImportAutoConfiguration({
+    PropertyPlaceholderAutoConfiguration.class,
+    DataSourceAutoConfiguration.class
+})
+public class ReshardingRunner {
+
+    public static int run(String... args) throws InterruptedException {
+        long started = System.nanoTime();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ReshardingRunner.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .run(args);
+
+        Environment environment = context.getEnvironment();
+        List<String> shardUrls = List.of(environment.getRequiredProperty("casino.sharding.shard-urls", String[].class));
+        List<HikariDataSource> shards = ShardDataSources.create(context.getBean(DataSourceProperties.class), environment, shardUrls, null);
+        try {
+            ShardDataSources.migrate(shards, "migrate");
+            Resharder resharder = new Resharder(
+                new JdbcTemplate(context.getBean(DataSource.class)),
+                shards.stream().map(JdbcTemplate::new).toList(),
+                environment.getProperty("casino.sharding.virtual-nodes", Integer.class, 128),
+                environment.getProperty("casino.sharding.reshard.chunk-size", Integer.class, 1000),
+                Duration.ofSeconds(environment.getProperty("casino.sharding.reshard.cutover-grace-seconds", Long.class, 90L))
+            );
+            long moved = resharder.run();
+            log.info("Resharding moved {} games in {} ms", moved, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } finally {
+            shards.forEach(HikariDataSource::close);
+        }
+
+        return SpringApplication.exit(context);
+    }
+}
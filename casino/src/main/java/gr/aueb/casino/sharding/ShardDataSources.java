@@ -0,0 +1,66 @@
+package gr.aueb.casino.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One Hikari pool per shard, configured like the primary pool, and the shard schema migrations
+ * kept apart from the primary's under {@code db/shard-migration}.
+ */
+@Slf4j
+public final class ShardDataSources {
+    public static final String MIGRATION_LOCATION = "classpath:db/shard-migration";
+
+    private ShardDataSources() {
+    }
+
+    public static List<HikariDataSource> create(
+        DataSourceProperties properties,
+        Environment environment,
+        List<String> shardUrls,
+        MeterRegistry meterRegistry
+    ) {
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (int i = 0; i < shardUrls.size(); i++) {
+            HikariDataSource shard = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(shardUrls.get(i))
+                .build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(shard));
+            shard.setPoolName("shard-" + i);
+            if (meterRegistry != null) {
+                shard.setMetricRegistry(meterRegistry);
+            }
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    public static void migrate(List<HikariDataSource> shards, String schemaMode) {
+        for (HikariDataSource shard : shards) {
+            Flyway flyway = Flyway.configure()
+                .dataSource(shard)
+                .locations(MIGRATION_LOCATION)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load();
+            switch (schemaMode) {
+                case "migrate" -> flyway.migrate();
+                case "validate" -> flyway.validate();
+                default -> throw new IllegalStateException("Unknown casino.startup.schema mode " + schemaMode + ".");
+            }
+            log.info("Shard {} schema is at version {}", shard.getPoolName(), flyway.info().current().getVersion());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package gr.aueb.casino.sharding;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routes users to shards through a consistent-hash ring over the ACTIVE shards in {@code game_shards},
+ * and games to the shard encoded in their id. Every instance re-reads the membership periodically,
+ * which is how a resharding cutover reaches running instances.
+ */
+@Slf4j
+public class ShardRouter {
+    // On a first boot every configured shard starts ACTIVE; shards appended later join as JOINING
+    private static final String REGISTER_SHARDS = """
+        INSERT INTO game_shards (id, state)
+        SELECT s.id, CASE WHEN EXISTS (SELECT 1 FROM game_shards) THEN 'JOINING' ELSE 'ACTIVE' END
+        FROM generate_series(0, ? - 1) AS s(id)
+        ON CONFLICT (id) DO NOTHING
+        """;
+
+    private static final String ACTIVE_SHARDS = "SELECT id FROM game_shards WHERE state = 'ACTIVE'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int shardCount;
+    private final int virtualNodes;
+    private volatile ConsistentHashRing ring;
+
+    public ShardRouter(JdbcTemplate jdbcTemplate, int shardCount, int virtualNodes) {
+        if (shardCount < 1 || shardCount > GameIds.MAX_SHARDS) {
+            throw new IllegalArgumentException("Between 1 and " + GameIds.MAX_SHARDS + " shards are supported, got " + shardCount + ".");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardCount = shardCount;
+        this.virtualNodes = virtualNodes;
+        jdbcTemplate.update(REGISTER_SHARDS, shardCount);
+        refresh();
+    }
+
+    public int shardForUser(long userId) {
+        return ring.shardFor(userId);
+    }
+
+    public int shardForGame(long gameId) {
+        int shardId = GameIds.shardOf(gameId);
+        return shardId < shardCount ? shardId : -1;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    @Scheduled(fixedDelayString = "${casino.sharding.refresh-interval-ms:1000}")
+    public void refresh() {
+        List<Integer> active = jdbcTemplate.queryForList(ACTIVE_SHARDS, Integer.class);
+        Set<Integer> routable = new HashSet<>();
+        for (Integer shardId : active) {
+            if (shardId < shardCount) {
+                routable.add(shardId);
+            } else {
+                log.error("Shard {} is ACTIVE in game_shards but not configured in casino.sharding.shard-urls", shardId);
+            }
+        }
+        if (routable.isEmpty()) {
+            throw new IllegalStateException("No configured shard is ACTIVE in game_shards.");
+        }
+
+        ConsistentHashRing current = ring;
+        if (current == null || !current.shardIds().equals(routable)) {
+            ring = new ConsistentHashRing(routable, virtualNodes);
+            log.info("Routing games across shards {}", routable);
+        }
+    }
+}
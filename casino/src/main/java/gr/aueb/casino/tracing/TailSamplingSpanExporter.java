@@ -0,0 +1,143 @@
+package gr.aueb.casino.tracing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Holds finished spans per trace until the trace's local root span ends, then keeps the whole trace
+ * if it was slow, contains an error, or falls into the baseline sample; otherwise drops it. Traces
+ * whose root never arrives are decided on what has been buffered once they are older than
+ * {@code maxTraceAge}, and at most {@code maxPendingTraces} are buffered at once.
+ */
+public class TailSamplingSpanExporter implements SpanExporter {
+    private final List<SpanExporter> delegates;
+    private final long latencyThresholdNanos;
+    private final long baselineBound;
+    private final long maxTraceAgeNanos;
+    private final int maxPendingTraces;
+    private final LinkedHashMap<String, PendingTrace> pending = new LinkedHashMap<>();
+
+    public TailSamplingSpanExporter(
+        List<SpanExporter> delegates,
+        Duration latencyThreshold,
+        double baselineRatio,
+        Duration maxTraceAge,
+        int maxPendingTraces
+    ) {
+        this.delegates = List.copyOf(delegates);
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.baselineBound = (long) (Math.min(Math.max(baselineRatio, 0.0), 1.0) * Long.MAX_VALUE);
+        this.maxTraceAgeNanos = maxTraceAge.toNanos();
+        this.maxPendingTraces = maxPendingTraces;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<SpanData> kept = new ArrayList<>();
+        synchronized (pending) {
+            long now = System.nanoTime();
+            for (SpanData span : spans) {
+                PendingTrace trace = pending.computeIfAbsent(span.getTraceId(), traceId -> new PendingTrace(now));
+                trace.spans.add(span);
+                trace.error |= span.getStatus().getStatusCode() == StatusCode.ERROR;
+                if (isLocalRoot(span)) {
+                    pending.remove(span.getTraceId());
+                    if (trace.error || isSlow(span) || inBaseline(span.getTraceId())) {
+                        kept.addAll(trace.spans);
+                    }
+                }
+            }
+            evictStale(now, kept);
+        }
+        return exportToDelegates(kept);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        List<CompletableResultCode> results = new ArrayList<>();
+        for (SpanExporter delegate : delegates) {
+            results.add(delegate.flush());
+        }
+        return CompletableResultCode.ofAll(results);
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        List<SpanData> kept = new ArrayList<>();
+        synchronized (pending) {
+            for (PendingTrace trace : pending.values()) {
+                if (trace.error) {
+                    kept.addAll(trace.spans);
+                }
+            }
+            pending.clear();
+        }
+        exportToDelegates(kept);
+
+        List<CompletableResultCode> results = new ArrayList<>();
+        for (SpanExporter delegate : delegates) {
+            results.add(delegate.shutdown());
+        }
+        return CompletableResultCode.ofAll(results);
+    }
+
+    private void evictStale(long now, List<SpanData> kept) {
+        Iterator<Map.Entry<String, PendingTrace>> oldest = pending.entrySet().iterator();
+        while (oldest.hasNext()) {
+            Map.Entry<String, PendingTrace> entry = oldest.next();
+            PendingTrace trace = entry.getValue();
+            if (pending.size() <= maxPendingTraces && now - trace.firstSeenNanos < maxTraceAgeNanos) {
+                break;
+            }
+            if (trace.error || inBaseline(entry.getKey())) {
+                kept.addAll(trace.spans);
+            }
+            oldest.remove();
+        }
+    }
+
+    private CompletableResultCode exportToDelegates(List<SpanData> kept) {
+        if (kept.isEmpty()) {
+            return CompletableResultCode.ofSuccess();
+        }
+        List<CompletableResultCode> results = new ArrayList<>();
+        for (SpanExporter delegate : delegates) {
+            results.add(delegate.export(kept));
+        }
+        return CompletableResultCode.ofAll(results);
+    }
+
+    private boolean isLocalRoot(SpanData span) {
+        return !span.getParentSpanContext().isValid() || span.getParentSpanContext().isRemote();
+    }
+
+    private boolean isSlow(SpanData span) {
+        return span.getEndEpochNanos() - span.getStartEpochNanos() >= latencyThresholdNanos;
+    }
+
+    // Same rule as the SDK's TraceIdRatioBased sampler, so every service keeps the same baseline traces
+    private boolean inBaseline(String traceId) {
+        long randomPart = Long.parseUnsignedLong(traceId.substring(16), 16);
+        return Math.abs(randomPart) < baselineBound;
+    }
+
+    private static final class PendingTrace {
+        private final long firstSeenNanos;
+        private final List<SpanData> spans = new ArrayList<>();
+        private boolean error;
+
+        private PendingTrace(long firstSeenNanos) {
+            this.firstSeenNanos = firstSeenNanos;
+        }
+    }
+}
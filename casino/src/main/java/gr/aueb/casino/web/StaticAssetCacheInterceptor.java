@@ -0,0 +1,29 @@
+package gr.aueb.casino.web;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class StaticAssetCacheInterceptor implements HandlerInterceptor {
+    private static final Pattern FINGERPRINTED = Pattern.compile(".*-[0-9a-f]{32}\\.[^/]+$");
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365))
+        .cachePublic()
+        .immutable()
+        .getHeaderValue();
+    private static final String REVALIDATE = CacheControl.noCache().getHeaderValue();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean fingerprinted = FINGERPRINTED.matcher(request.getRequestURI()).matches();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, fingerprinted ? IMMUTABLE : REVALIDATE);
+        return true;
+    }
+}
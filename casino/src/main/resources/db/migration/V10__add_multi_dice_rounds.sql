@@ -0,0 +1,4 @@
+ALTER TABLE games
+    ADD COLUMN dice_count SMALLINT NOT NULL DEFAULT 1 CHECK (dice_count BETWEEN 1 AND 10),
+    ADD COLUMN server_dice BYTEA,
+    ADD COLUMN client_dice BYTEA;
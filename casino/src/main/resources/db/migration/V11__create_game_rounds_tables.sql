@@ -0,0 +1,22 @@
+CREATE TABLE game_rounds (
+    id BIGSERIAL PRIMARY KEY,
+    server_nonce VARCHAR(64) NOT NULL,
+    server_nonce_hash VARCHAR(64) NOT NULL,
+    opened_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    closes_at TIMESTAMPTZ NOT NULL,
+    closed_at TIMESTAMPTZ
+);
+
+CREATE UNIQUE INDEX uq_game_rounds_single_open ON game_rounds ((closed_at IS NULL)) WHERE closed_at IS NULL;
+
+CREATE TABLE game_round_entries (
+    round_id BIGINT NOT NULL REFERENCES game_rounds(id),
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    client_nonce_hash VARCHAR(64) NOT NULL,
+    client_nonce VARCHAR(64),
+    server_roll SMALLINT,
+    client_roll SMALLINT,
+    outcome_id SMALLINT REFERENCES game_outcomes(id),
+    joined_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (round_id, user_id)
+);
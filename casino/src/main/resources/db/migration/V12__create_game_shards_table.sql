@@ -0,0 +1,5 @@
+CREATE TABLE game_shards (
+    id SMALLINT PRIMARY KEY,
+    state VARCHAR(10) NOT NULL CHECK (state IN ('JOINING', 'ACTIVE')),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,11 @@
+CREATE TABLE erasure_jobs (
+    user_id BIGINT PRIMARY KEY,
+    stage VARCHAR(16) NOT NULL CHECK (stage IN ('SIGN_OUT', 'GAMES', 'ROUND_ENTRIES', 'ACCOUNT', 'COMPLETED')),
+    stage_cursor BIGINT NOT NULL DEFAULT 0,
+    games_erased BIGINT NOT NULL DEFAULT 0,
+    lease_until TIMESTAMPTZ,
+    requested_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    completed_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_erasure_jobs_pending ON erasure_jobs(requested_at) WHERE stage <> 'COMPLETED';
@@ -0,0 +1,3 @@
+CREATE INDEX CONCURRENTLY idx_games_user_id_id ON games(user_id, id);
+DROP INDEX CONCURRENTLY idx_games_user_id;
+CREATE INDEX CONCURRENTLY idx_game_round_entries_user_id ON game_round_entries(user_id, round_id);
@@ -0,0 +1,6 @@
+ALTER TABLE games ADD COLUMN pre_issued BOOLEAN NOT NULL DEFAULT false;
+
+UPDATE games SET pre_issued = true WHERE client_nonce_hash IS NULL;
+
+ALTER TABLE games ADD CONSTRAINT chk_games_client_nonce_hash_committed
+    CHECK (pre_issued OR client_nonce_hash IS NOT NULL) NOT VALID;
@@ -0,0 +1 @@
+ALTER TABLE games VALIDATE CONSTRAINT chk_games_client_nonce_hash_committed;
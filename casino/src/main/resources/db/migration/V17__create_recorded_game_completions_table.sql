@@ -0,0 +1,4 @@
+CREATE TABLE recorded_game_completions (
+    game_id BIGINT PRIMARY KEY,
+    recorded_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,2 @@
+ALTER TABLE game_rollups_minute ADD COLUMN initiated BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE game_rollups_day ADD COLUMN initiated BIGINT NOT NULL DEFAULT 0;
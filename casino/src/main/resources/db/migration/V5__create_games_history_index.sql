@@ -0,0 +1 @@
+CREATE INDEX idx_games_user_id_completed_at ON games(user_id, completed_at DESC, id DESC);
@@ -0,0 +1,9 @@
+CREATE TABLE user_stats (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id),
+    wins BIGINT NOT NULL DEFAULT 0,
+    losses BIGINT NOT NULL DEFAULT 0,
+    ties BIGINT NOT NULL DEFAULT 0,
+    expired BIGINT NOT NULL DEFAULT 0,
+    current_win_streak INTEGER NOT NULL DEFAULT 0,
+    longest_win_streak INTEGER NOT NULL DEFAULT 0
+);
@@ -0,0 +1,19 @@
+CREATE TABLE game_rollups_minute (
+    bucket_start TIMESTAMPTZ PRIMARY KEY,
+    server_wins BIGINT NOT NULL DEFAULT 0,
+    client_wins BIGINT NOT NULL DEFAULT 0,
+    ties BIGINT NOT NULL DEFAULT 0,
+    expired BIGINT NOT NULL DEFAULT 0,
+    reveal_latency_histogram BIGINT[] NOT NULL
+);
+
+CREATE TABLE game_rollups_day (
+    bucket_start TIMESTAMPTZ PRIMARY KEY,
+    server_wins BIGINT NOT NULL DEFAULT 0,
+    client_wins BIGINT NOT NULL DEFAULT 0,
+    ties BIGINT NOT NULL DEFAULT 0,
+    expired BIGINT NOT NULL DEFAULT 0,
+    reveal_latency_histogram BIGINT[] NOT NULL
+);
+
+CREATE INDEX idx_games_initiated_at_brin ON games USING BRIN (initiated_at);
@@ -0,0 +1 @@
+ALTER TABLE games ALTER COLUMN client_nonce_hash DROP NOT NULL;
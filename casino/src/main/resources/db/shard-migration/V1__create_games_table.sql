@@ -0,0 +1,42 @@
+CREATE TABLE game_statuses (
+    id SMALLINT PRIMARY KEY,
+    name VARCHAR(20) UNIQUE NOT NULL
+);
+
+INSERT INTO game_statuses (id, name)
+VALUES (1, 'IN_PROGRESS'),
+       (2, 'COMPLETED');
+
+CREATE TABLE game_outcomes (
+    id SMALLINT PRIMARY KEY,
+    name VARCHAR(20) UNIQUE NOT NULL
+);
+
+INSERT INTO game_outcomes (id, name)
+VALUES (1, 'SERVER_WIN'),
+       (2, 'CLIENT_WIN'),
+       (3, 'TIE'),
+       (4, 'EXPIRED');
+
+CREATE SEQUENCE games_id_seq;
+
+CREATE TABLE games (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    status_id SMALLINT NOT NULL REFERENCES game_statuses(id),
+    outcome_id SMALLINT REFERENCES game_outcomes(id),
+    dice_count SMALLINT NOT NULL DEFAULT 1 CHECK (dice_count BETWEEN 1 AND 10),
+    server_roll SMALLINT,
+    client_roll SMALLINT,
+    server_dice BYTEA,
+    client_dice BYTEA,
+    r_a VARCHAR(64) NOT NULL,
+    r_b VARCHAR(64),
+    client_nonce_hash VARCHAR(64),
+    server_nonce_hash VARCHAR(64) NOT NULL,
+    initiated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    completed_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_games_user_id ON games(user_id);
+CREATE INDEX idx_games_user_id_completed_at ON games(user_id, completed_at DESC, id DESC);
@@ -0,0 +1,2 @@
+CREATE INDEX CONCURRENTLY idx_games_user_id_id ON games(user_id, id);
+DROP INDEX CONCURRENTLY idx_games_user_id;
@@ -3,8 +3,15 @@ document.addEventListener('DOMContentLoaded', () => {
     const spinner = document.getElementById('spinner');
     const resultArea = document.getElementById('game-result');
     const errorArea = document.getElementById('game-error');
+    const diceCountSelect = document.getElementById('dice-count');
+
+    const PRE_ISSUED_EXPIRY_MARGIN_MS = 2000;
+    const TICKER_SIZE = 10;
+    const TICKER_RETRY_MS = 5000;
+    let pendingGame = null;
 
     formatTimestamps();
+    startResultsTicker();
 
     rollButton.addEventListener('click', async () => {
         try {
@@ -13,53 +20,74 @@ document.addEventListener('DOMContentLoaded', () => {
             resultArea.classList.add('hidden');
             errorArea.classList.add('hidden');
 
+            const diceCount = Number(diceCountSelect.value);
             const clientNonce = generateNonce();
             const clientNonceHash = await computeHash(clientNonce);
 
             const csrfElement = document.getElementById('csrf-token');
             const csrfToken = csrfElement.dataset.token;
             const csrfHeader = csrfElement.dataset.header;
-
-            const initiateResponse = await fetch('/game', {
-                method: 'POST',
-                headers: {
-                    'Content-Type': 'application/json',
-                    [csrfHeader]: csrfToken
-                },
-                body: JSON.stringify({ clientNonceHash })
-            });
-
-            if (!initiateResponse.ok) {
-                window.location.href = '/error';
-                return;
+            const headers = {
+                'Content-Type': 'application/json',
+                [csrfHeader]: csrfToken
+            };
+
+            let revealResponse = null;
+            let serverNonceHash = null;
+
+            const preIssued = takePreIssuedGame(diceCount);
+            if (preIssued) {
+                serverNonceHash = preIssued.serverNonceHash;
+                revealResponse = await fetch(`/game/${preIssued.gameId}/reveal?next=true`, {
+                    method: 'POST',
+                    headers,
+                    body: JSON.stringify({ clientNonce, clientNonceHash })
+                });
             }
 
-            const { gameId, serverNonceHash } = await initiateResponse.json();
-
-            const revealResponse = await fetch(`/game/${gameId}/reveal`, {
-                method: 'POST',
-                headers: {
-                    'Content-Type': 'application/json',
-                    [csrfHeader]: csrfToken
-                },
-                body: JSON.stringify({ clientNonce })
-            });
+            if (!revealResponse || revealResponse.status === 410) {
+                const initiateResponse = await fetch('/game', {
+                    method: 'POST',
+                    headers,
+                    body: JSON.stringify({ clientNonceHash, diceCount })
+                });
+
+                if (!initiateResponse.ok) {
+                    window.location.href = '/error';
+                    return;
+                }
+
+                const initiated = await initiateResponse.json();
+                serverNonceHash = initiated.serverNonceHash;
+
+                revealResponse = await fetch(`/game/${initiated.gameId}/reveal?next=true`, {
+                    method: 'POST',
+                    headers,
+                    body: JSON.stringify({ clientNonce })
+                });
+            }
 
             if (!revealResponse.ok) {
                 window.location.href = '/error';
                 return;
             }
 
-            const { gameOutcome, serverRoll, clientRoll, serverNonce } = await revealResponse.json();
+            const { gameOutcome, serverRoll, clientRoll, serverNonce, serverDice, clientDice, nextGame } = await revealResponse.json();
+            pendingGame = nextGame || null;
 
-            const isValid = await verifyServerNonceAndRolls(serverNonce, serverNonceHash, clientNonce, serverRoll, clientRoll);
+            const isValid = serverDice
+                ? await verifyServerNonceAndDice(serverNonce, serverNonceHash, clientNonce, serverDice, clientDice, serverRoll, clientRoll)
+                : await verifyServerNonceAndRolls(serverNonce, serverNonceHash, clientNonce, serverRoll, clientRoll);
             if (!isValid) {
                 showError('Server cheating detected! Commitment verification failed.');
                 return;
             }
 
-            showResult(clientRoll, serverRoll, gameOutcome);
-            updateGameHistory(clientRoll, serverRoll, gameOutcome);
+            const clientText = formatRoll(clientRoll, clientDice);
+            const serverText = formatRoll(serverRoll, serverDice);
+            showResult(clientText, serverText, gameOutcome);
+            updateGameHistory(clientText, serverText, gameOutcome);
+            updateStats(gameOutcome);
         } catch (error) {
             window.location.href = '/error';
         } finally {
@@ -68,6 +96,13 @@ document.addEventListener('DOMContentLoaded', () => {
         }
     });
 
+    function takePreIssuedGame(diceCount) {
+        const game = pendingGame;
+        pendingGame = null;
+        if (!game || game.diceCount !== diceCount) return null;
+        return Date.parse(game.expiresAt) - PRE_ISSUED_EXPIRY_MARGIN_MS > Date.now() ? game : null;
+    }
+
     function generateNonce() {
         const array = new Uint8Array(32);
         crypto.getRandomValues(array);
@@ -102,6 +137,37 @@ document.addEventListener('DOMContentLoaded', () => {
         return computedServerRoll === serverRoll && computedClientRoll === clientRoll;
     }
 
+    async function expandDice(role, serverNonce, clientNonce, count) {
+        const encoder = new TextEncoder();
+        const dice = [];
+        for (let counter = 0; dice.length < count; counter++) {
+            const data = role + serverNonce + clientNonce + counter;
+            const block = new Uint8Array(await crypto.subtle.digest('SHA-256', encoder.encode(data)));
+            for (let i = 0; i < block.length && dice.length < count; i++) {
+                if (block[i] < 252) dice.push(block[i] % 6 + 1);
+            }
+        }
+        return dice;
+    }
+
+    async function verifyServerNonceAndDice(serverNonce, serverNonceHash, clientNonce, serverDice, clientDice, serverRoll, clientRoll) {
+        const computedServerNonceHash = await computeHash(serverNonce);
+        if (computedServerNonceHash !== serverNonceHash) return false;
+        if (!clientDice || clientDice.length !== serverDice.length) return false;
+
+        const computedServerDice = await expandDice('server', serverNonce, clientNonce, serverDice.length);
+        const computedClientDice = await expandDice('client', serverNonce, clientNonce, clientDice.length);
+        const sum = dice => dice.reduce((total, die) => total + die, 0);
+        return computedServerDice.every((die, i) => die === serverDice[i])
+            && computedClientDice.every((die, i) => die === clientDice[i])
+            && sum(computedServerDice) === serverRoll
+            && sum(computedClientDice) === clientRoll;
+    }
+
+    function formatRoll(roll, dice) {
+        return dice ? `${dice.join(' + ')} = ${roll}` : String(roll);
+    }
+
     function showResult(clientRoll, serverRoll, gameOutcome) {
         const outcomeText =
             gameOutcome === 'CLIENT_WIN' ? 'You Won!' :
@@ -144,6 +210,29 @@ document.addEventListener('DOMContentLoaded', () => {
         errorArea.classList.remove('hidden');
     }
 
+    function updateStats(gameOutcome) {
+        const currentStreak = document.getElementById('stat-current-streak');
+        const longestStreak = document.getElementById('stat-longest-streak');
+
+        if (gameOutcome === 'CLIENT_WIN') {
+            incrementStat('stat-wins');
+            incrementStat('stat-current-streak');
+            if (Number(currentStreak.textContent) > Number(longestStreak.textContent)) {
+                longestStreak.textContent = currentStreak.textContent;
+            }
+            return;
+        }
+
+        currentStreak.textContent = '0';
+        if (gameOutcome === 'SERVER_WIN') incrementStat('stat-losses');
+        if (gameOutcome === 'TIE') incrementStat('stat-ties');
+    }
+
+    function incrementStat(id) {
+        const element = document.getElementById(id);
+        element.textContent = Number(element.textContent) + 1;
+    }
+
     function updateGameHistory(clientRoll, serverRoll, gameOutcome) {
         const historyTable = document.querySelector('.history-table tbody');
         if (!historyTable) {
@@ -217,6 +306,49 @@ document.addEventListener('DOMContentLoaded', () => {
         return row;
     }
 
+    function startResultsTicker() {
+        const ticker = document.getElementById('results-ticker');
+        if (!ticker || !window.EventSource) {
+            return;
+        }
+
+        const source = new EventSource('/feed/results');
+        source.addEventListener('result', event => {
+            const { outcome, serverRoll, clientRoll, completedAt } = JSON.parse(event.data);
+            ticker.prepend(createTickerItem(outcome, serverRoll, clientRoll, completedAt));
+            while (ticker.children.length > TICKER_SIZE) {
+                ticker.lastElementChild.remove();
+            }
+        });
+        // the browser reconnects by itself unless the server refused the stream outright
+        source.addEventListener('error', () => {
+            if (source.readyState === EventSource.CLOSED) {
+                setTimeout(startResultsTicker, TICKER_RETRY_MS);
+            }
+        });
+    }
+
+    function createTickerItem(outcome, serverRoll, clientRoll, completedAt) {
+        const item = document.createElement('li');
+
+        const outcomeBadge = document.createElement('span');
+        outcomeBadge.className = `outcome-badge ${outcome.toLowerCase().replace('_', '-')}`;
+        outcomeBadge.textContent = outcome.replace('_', ' ');
+        item.appendChild(outcomeBadge);
+
+        const rolls = document.createElement('span');
+        rolls.className = 'ticker-rolls';
+        rolls.textContent = `${clientRoll} vs ${serverRoll}`;
+        item.appendChild(rolls);
+
+        const timestamp = document.createElement('span');
+        timestamp.className = 'timestamp';
+        timestamp.textContent = formatTimestamp(new Date(completedAt));
+        item.appendChild(timestamp);
+
+        return item;
+    }
+
     function formatTimestamps() {
         document.querySelectorAll('.timestamp').forEach(cell => {
             const timestamp = cell.dataset.timestamp;
@@ -2,18 +2,49 @@ package gr.aueb.casino;
 
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.matchesPattern;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -23,14 +54,24 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -39,11 +80,28 @@ import org.testcontainers.utility.DockerImageName;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+import gr.aueb.casino.api.schemas.response.GameRollupResponse;
+import gr.aueb.casino.domain.GameOutcome;
+import gr.aueb.casino.domain.GameStatus;
 import gr.aueb.casino.domain.User;
+import gr.aueb.casino.domain.UserStats;
+import gr.aueb.casino.jfr.FlightRecorderService;
+import gr.aueb.casino.outbox.OutboxRelay;
 import gr.aueb.casino.persistence.GameRepository;
 import gr.aueb.casino.persistence.UserRepository;
+import gr.aueb.casino.persistence.UserStatsRepository;
 import gr.aueb.casino.security.UserDetailsAdapter;
+import gr.aueb.casino.security.UserSessionRegistry;
+import gr.aueb.casino.service.ErasureService;
+import gr.aueb.casino.service.GameRollupService;
+import gr.aueb.casino.service.RoomService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 @ActiveProfiles("test")
 @AutoConfigureMockMvc
@@ -73,9 +131,54 @@ class GameIntegrationTest {
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private GameRollupService gameRollupService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ResourceUrlProvider resourceUrlProvider;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ErasureService erasureService;
+
+    @Autowired
+    private SessionRepository<? extends Session> sessionRepository;
+
+    @Autowired
+    private UserSessionRegistry userSessionRegistry;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private FlightRecorderService flightRecorderService;
+
+    @Autowired
+    private DataSource dataSource;
+
     @AfterEach
     void tearDown() {
+        jdbcTemplate.update("DELETE FROM erasure_jobs");
+        jdbcTemplate.update("DELETE FROM game_round_entries");
         gameRepository.deleteAll();
+        userStatsRepository.deleteAll();
         userRepository.deleteAll();
     }
 
@@ -181,11 +284,819 @@ class GameIntegrationTest {
         .andExpect(status().isNotFound());
     }
 
+    @Test
+    void initiateWithoutClientNonceHashIsRejected() throws Exception {
+        User user = createUser("player@example.com", TEST_PASSWORD);
+
+        mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isBadRequest());
+
+        mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonceHash\":{\"hash\":\"" + "a".repeat(64) + "\"}}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isBadRequest());
+
+        assertEquals(0, gameRepository.count());
+    }
+
+    @Test
+    void historyIsPaginatedWithKeysetCursor() throws Exception {
+        User user = createUser("history@example.com", TEST_PASSWORD);
+        playGame(user, "1".repeat(64));
+        playGame(user, "2".repeat(64));
+        playGame(user, "3".repeat(64));
+
+        MvcResult firstPage = mockMvc.perform(
+            get("/game/history")
+            .param("limit", "2")
+            .with(user(new UserDetailsAdapter(user)))
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.games", hasSize(2)))
+        .andExpect(jsonPath("$.nextCursor", notNullValue()))
+        .andReturn();
+
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(
+            get("/game/history")
+            .param("limit", "2")
+            .param("cursor", nextCursor)
+            .with(user(new UserDetailsAdapter(user)))
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.games", hasSize(1)))
+        .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void historyExportStreamsOneLinePerGame() throws Exception {
+        User user = createUser("export@example.com", TEST_PASSWORD);
+        playGame(user, "4".repeat(64));
+        playGame(user, "5".repeat(64));
+
+        MvcResult exportResult = mockMvc.perform(
+            get("/game/history/export")
+            .param("format", "ndjson")
+            .with(user(new UserDetailsAdapter(user)))
+        )
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(exportResult))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertEquals(2, body.lines().count());
+        assertTrue(body.endsWith("}\n"));
+    }
+
+    @Test
+    void emptyHistoryExportHasNoLines() throws Exception {
+        User user = createUser("empty-export@example.com", TEST_PASSWORD);
+
+        MvcResult exportResult = mockMvc.perform(
+            get("/game/history/export")
+            .param("format", "ndjson")
+            .with(user(new UserDetailsAdapter(user)))
+        )
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(exportResult))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertEquals("", body);
+    }
+
+    @Test
+    void revealUpdatesUserStats() throws Exception {
+        User user = createUser("stats@example.com", TEST_PASSWORD);
+        playGame(user, "6".repeat(64));
+        playGame(user, "7".repeat(64));
+
+        UserStats stats = userStatsRepository.findById(user.getId()).orElseThrow();
+        assertEquals(2, stats.getWins() + stats.getLosses() + stats.getTies() + stats.getExpired());
+    }
+
+    @Test
+    void rollupsAreExposedToAdminsOnly() throws Exception {
+        User user = createUser("rollups@example.com", TEST_PASSWORD);
+        playGame(user, "8".repeat(64));
+        gameRollupService.flush();
+
+        OffsetDateTime now = OffsetDateTime.now();
+
+        mockMvc.perform(
+            get("/admin/rollups/minutes")
+            .param("from", now.minusHours(1).toString())
+            .param("to", now.plusMinutes(1).toString())
+            .with(user(new UserDetailsAdapter(user)))
+        )
+        .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(
+            get("/admin/rollups/minutes")
+            .param("from", now.minusHours(1).toString())
+            .param("to", now.plusMinutes(1).toString())
+            .with(user(new UserDetailsAdapter(user, true)))
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].completed", greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    void rebuildCountsPendingGamesOnceAndUnrevealedGamesAsExpired() throws Exception {
+        User user = createUser("rebuild@example.com", TEST_PASSWORD);
+        playGame(user, "c".repeat(64));
+
+        MvcResult abandoned = mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonceHash\":\"" + sha256Hex("d".repeat(64)) + "\"}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andReturn();
+        long abandonedId = objectMapper.readTree(abandoned.getResponse().getContentAsString()).get("gameId").asLong();
+        jdbcTemplate.update("UPDATE games SET initiated_at = now() - interval '2 minutes' WHERE id = ?", abandonedId);
+
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        gameRollupService.rebuild(now.minusMinutes(2), now);
+        gameRollupService.flush();
+
+        List<GameRollupResponse> minutes = gameRollupService.getMinuteRollups(
+            now.minusMinutes(10).toOffsetDateTime(), now.plusMinutes(1).toOffsetDateTime());
+        assertEquals(1, minutes.stream().mapToLong(GameRollupResponse::completed).sum());
+        GameRollupResponse abandonedMinute = minutes.stream()
+            .filter(minute -> minute.unrevealed() == 1)
+            .findFirst()
+            .orElseThrow();
+        assertEquals(0, abandonedMinute.completed());
+        assertEquals(1.0, abandonedMinute.expiredRate());
+    }
+
+    @Test
+    void gameCompletedWhileARebuildRunsIsCountedOnce() throws Exception {
+        User user = createUser("midrebuild@example.com", TEST_PASSWORD);
+        String clientNonce = "e".repeat(64);
+        MvcResult initiated = mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonceHash\":\"" + sha256Hex(clientNonce) + "\"}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andReturn();
+        long gameId = objectMapper.readTree(initiated.getResponse().getContentAsString()).get("gameId").asLong();
+
+        ZonedDateTime day = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+        jdbcTemplate.update("""
+            INSERT INTO game_rollups_minute (bucket_start, reveal_latency_histogram) VALUES (?, '{}')
+            ON CONFLICT (bucket_start) DO NOTHING
+            """, day.toOffsetDateTime());
+
+        // Hold a bucket row so the rebuild stops after taking its snapshot, before it rewrites the buckets
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection blocker = dataSource.getConnection()) {
+            blocker.setAutoCommit(false);
+            try (PreparedStatement lock = blocker.prepareStatement("SELECT 1 FROM game_rollups_minute WHERE bucket_start = ? FOR UPDATE")) {
+                lock.setObject(1, day.toOffsetDateTime());
+                lock.executeQuery().close();
+            }
+
+            Future<?> rebuild = executor.submit(() -> gameRollupService.rebuild(day, day));
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Long.class) == 0) {
+                assertTrue(System.nanoTime() < deadline, "The rebuild never waited on the held bucket row");
+                Thread.sleep(20);
+            }
+
+            mockMvc.perform(
+                post("/game/" + gameId + "/reveal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientNonce\":\"" + clientNonce + "\"}")
+                .with(user(new UserDetailsAdapter(user)))
+                .with(csrf())
+            )
+            .andExpect(status().isOk());
+
+            blocker.rollback();
+            rebuild.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        gameRollupService.flush();
+
+        List<GameRollupResponse> days = gameRollupService.getDailyRollups(day.toOffsetDateTime(), day.plusDays(1).toOffsetDateTime());
+        assertEquals(1, days.stream().mapToLong(GameRollupResponse::completed).sum());
+    }
+
+    @Test
+    void burstAboveRateLimitIsRejected() throws Exception {
+        User user = createUser("greedy@example.com", TEST_PASSWORD);
+        String clientNonceHash = sha256Hex("9".repeat(64));
+
+        MvcResult rejected = null;
+        for (int i = 0; i < 100 && rejected == null; i++) {
+            MvcResult result = mockMvc.perform(
+                post("/game")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientNonceHash\":\"" + clientNonceHash + "\"}")
+                .with(user(new UserDetailsAdapter(user)))
+                .with(csrf())
+            )
+            .andExpect(header().exists("X-RateLimit-Remaining"))
+            .andReturn();
+
+            if (result.getResponse().getStatus() == 429) {
+                rejected = result;
+            }
+        }
+
+        assertNotNull(rejected);
+        assertNotNull(rejected.getResponse().getHeader("Retry-After"));
+    }
+
+    @Test
+    void repeatedIdempotencyKeyReturnsSameGame() throws Exception {
+        User user = createUser("retry@example.com", TEST_PASSWORD);
+        String clientNonceHash = sha256Hex("a".repeat(64));
+
+        MvcResult first = mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .header("Idempotency-Key", "retry-key-1")
+            .content("{\"clientNonceHash\":\"" + clientNonceHash + "\"}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andReturn();
+
+        MvcResult retry = mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .header("Idempotency-Key", "retry-key-1")
+            .content("{\"clientNonceHash\":\"" + clientNonceHash + "\"}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andReturn();
+
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(1, gameRepository.count());
+
+        mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .header("Idempotency-Key", "retry-key-1")
+            .content("{\"clientNonceHash\":\"" + sha256Hex("b".repeat(64)) + "\"}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void jdbcStatementsAreRecordedPerShapeAndRequest() throws Exception {
+        User user = createUser("metrics@example.com", TEST_PASSWORD);
+        playGame(user, "c".repeat(64));
+
+        Timer insertTimer = meterRegistry.find("jdbc.statement")
+            .tagKeys("shape")
+            .timers()
+            .stream()
+            .filter(timer -> timer.getId().getTag("shape").startsWith("insert into games"))
+            .findFirst()
+            .orElseThrow();
+        assertTrue(insertTimer.count() >= 1);
+
+        DistributionSummary revealStatements = meterRegistry.find("http.server.requests.jdbc.statements")
+            .tag("uri", "/game/{id}/reveal")
+            .summary();
+        assertNotNull(revealStatements);
+        assertTrue(revealStatements.max() > 0);
+    }
+
+    @Test
+    void enumCodesMatchLookupTables() {
+        for (GameStatus status : GameStatus.values()) {
+            assertEquals(status.name(), jdbcTemplate.queryForObject(
+                "SELECT name FROM game_statuses WHERE id = ?", String.class, status.getId()));
+        }
+        for (GameOutcome outcome : GameOutcome.values()) {
+            assertEquals(outcome.name(), jdbcTemplate.queryForObject(
+                "SELECT name FROM game_outcomes WHERE id = ?", String.class, outcome.getId()));
+        }
+    }
+
+    @Test
+    void completedGamesAreRelayedToRedisStream() throws Exception {
+        User user = createUser("outbox@example.com", TEST_PASSWORD);
+        long gameId = playGame(user, "d".repeat(64));
+
+        outboxRelay.relay();
+
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range("casino:game-events", Range.unbounded());
+        assertTrue(records.stream().anyMatch(record ->
+            "GameCompleted".equals(record.getValue().get("type"))
+                && String.valueOf(gameId).equals(record.getValue().get("aggregateId"))));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM game_event_outbox WHERE aggregate_id = ?", Integer.class, gameId));
+    }
+
+    @Test
+    void fingerprintedAssetsAreImmutableAndPrecompressed() throws Exception {
+        String fingerprinted = resourceUrlProvider.getForLookupPath("/css/main.css");
+        assertNotNull(fingerprinted);
+        assertTrue(fingerprinted.matches("/css/main-[0-9a-f]{32}\\.css"));
+
+        mockMvc.perform(get(fingerprinted).header("Accept-Encoding", "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+
+        mockMvc.perform(get("/css/main.css"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    void preIssuedGameIsPlayedWithASingleRequest() throws Exception {
+        User user = createUser("preissued@example.com", TEST_PASSWORD);
+        MockHttpSession session = new MockHttpSession();
+
+        String firstNonce = "4".repeat(64);
+        MvcResult initiateResult = mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonceHash\":\"" + sha256Hex(firstNonce) + "\"}")
+            .session(session)
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andReturn();
+        long firstGameId = objectMapper.readTree(initiateResult.getResponse().getContentAsString()).get("gameId").asLong();
+
+        MvcResult firstReveal = mockMvc.perform(
+            post("/game/" + firstGameId + "/reveal")
+            .param("next", "true")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonce\":\"" + firstNonce + "\"}")
+            .session(session)
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextGame.gameId", notNullValue()))
+        .andExpect(jsonPath("$.nextGame.serverNonceHash", matchesPattern("^[a-f0-9]{64}$")))
+        .andExpect(jsonPath("$.nextGame.expiresAt", notNullValue()))
+        .andReturn();
+        JsonNode nextGame = objectMapper.readTree(firstReveal.getResponse().getContentAsString()).get("nextGame");
+        long preIssuedId = nextGame.get("gameId").asLong();
+
+        mockMvc.perform(
+            post("/game/" + firstGameId + "/reveal")
+            .param("next", "true")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonce\":\"" + firstNonce + "\"}")
+            .session(session)
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextGame").doesNotExist());
+        assertEquals(2, gameRepository.count());
+
+        String secondNonce = "5".repeat(64);
+        mockMvc.perform(
+            post("/game/" + preIssuedId + "/reveal")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonce\":\"" + secondNonce + "\",\"clientNonceHash\":\"" + sha256Hex(secondNonce) + "\"}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isGone());
+
+        mockMvc.perform(
+            post("/game/" + preIssuedId + "/reveal")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonce\":\"" + secondNonce + "\",\"clientNonceHash\":\"" + sha256Hex(firstNonce) + "\"}")
+            .session(session)
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isBadRequest());
+
+        MvcResult secondReveal = mockMvc.perform(
+            post("/game/" + preIssuedId + "/reveal")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonce\":\"" + secondNonce + "\",\"clientNonceHash\":\"" + sha256Hex(secondNonce) + "\"}")
+            .session(session)
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextGame").doesNotExist())
+        .andReturn();
+
+        String serverNonce = objectMapper.readTree(secondReveal.getResponse().getContentAsString()).get("serverNonce").asText();
+        assertEquals(nextGame.get("serverNonceHash").asText(), sha256Hex(serverNonce));
+        assertEquals(GameStatus.COMPLETED, gameRepository.findById(preIssuedId).orElseThrow().getStatus());
+        assertEquals(sha256Hex(secondNonce), gameRepository.findById(preIssuedId).orElseThrow().getClientNonceHash());
+    }
+
+    @Test
+    void multiDiceRoundDerivesAllDiceFromOneExchange() throws Exception {
+        User user = createUser("multidice@example.com", TEST_PASSWORD);
+        String clientNonce = "6".repeat(64);
+
+        MvcResult initiateResult = mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonceHash\":\"" + sha256Hex(clientNonce) + "\",\"diceCount\":5}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andReturn();
+        long gameId = objectMapper.readTree(initiateResult.getResponse().getContentAsString()).get("gameId").asLong();
+
+        MvcResult revealResult = mockMvc.perform(
+            post("/game/" + gameId + "/reveal")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonce\":\"" + clientNonce + "\"}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.serverDice", hasSize(5)))
+        .andExpect(jsonPath("$.clientDice", hasSize(5)))
+        .andReturn();
+
+        JsonNode reveal = objectMapper.readTree(revealResult.getResponse().getContentAsString());
+        String serverNonce = reveal.get("serverNonce").asText();
+        for (String role : List.of("server", "client")) {
+            List<Integer> expected = expandDice(role, serverNonce, clientNonce, 5);
+            List<Integer> actual = objectMapper.convertValue(reveal.get(role + "Dice"), objectMapper.getTypeFactory().constructCollectionType(List.class, Integer.class));
+            assertEquals(expected, actual);
+            assertEquals(expected.stream().mapToInt(Integer::intValue).sum(), reveal.get(role + "Roll").asInt());
+        }
+
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT length(server_dice) FROM games WHERE id = ?", Integer.class, gameId));
+
+        mockMvc.perform(
+            get("/game/history")
+            .with(user(new UserDetailsAdapter(user)))
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.games[0].serverDice", hasSize(5)));
+    }
+
+    @Test
+    void roomRoundResolvesEveryEntryAtClose() throws Exception {
+        User revealing = createUser("room1@example.com", TEST_PASSWORD);
+        User silent = createUser("room2@example.com", TEST_PASSWORD);
+        roomService.openRoundIfNoneOpen();
+
+        MvcResult currentResult = mockMvc.perform(
+            get("/rooms/current")
+            .with(user(new UserDetailsAdapter(revealing)))
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.serverNonceHash", matchesPattern("^[a-f0-9]{64}$")))
+        .andReturn();
+        JsonNode round = objectMapper.readTree(currentResult.getResponse().getContentAsString());
+        long roundId = round.get("roundId").asLong();
+
+        String clientNonce = "7".repeat(64);
+        for (User player : List.of(revealing, silent)) {
+            mockMvc.perform(
+                post("/rooms/" + roundId + "/entries")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientNonceHash\":\"" + sha256Hex(clientNonce) + "\"}")
+                .with(user(new UserDetailsAdapter(player)))
+                .with(csrf())
+            )
+            .andExpect(status().isAccepted());
+        }
+
+        mockMvc.perform(
+            post("/rooms/" + roundId + "/entries")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonceHash\":\"" + sha256Hex(clientNonce) + "\"}")
+            .with(user(new UserDetailsAdapter(revealing)))
+            .with(csrf())
+        )
+        .andExpect(status().isConflict());
+
+        mockMvc.perform(
+            post("/rooms/" + roundId + "/entries/reveal")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonce\":\"" + clientNonce + "\"}")
+            .with(user(new UserDetailsAdapter(revealing)))
+            .with(csrf())
+        )
+        .andExpect(status().isAccepted());
+
+        mockMvc.perform(
+            get("/rooms/" + roundId + "/entries/me")
+            .with(user(new UserDetailsAdapter(revealing)))
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.revealed").value(true))
+        .andExpect(jsonPath("$.serverNonce", nullValue()));
+
+        jdbcTemplate.update("UPDATE game_rounds SET closes_at = now() WHERE id = ?", roundId);
+        assertEquals(2, roomService.closeDueRound());
+
+        MvcResult resolved = mockMvc.perform(
+            get("/rooms/" + roundId + "/entries/me")
+            .with(user(new UserDetailsAdapter(revealing)))
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.outcome", notNullValue()))
+        .andReturn();
+
+        JsonNode entry = objectMapper.readTree(resolved.getResponse().getContentAsString());
+        String serverNonce = entry.get("serverNonce").asText();
+        assertEquals(round.get("serverNonceHash").asText(), sha256Hex(serverNonce));
+        String playerContext = clientNonce + revealing.getId() + ":";
+        assertEquals(expandDice("server", serverNonce, playerContext, 1).get(0), entry.get("serverRoll").asInt());
+        assertEquals(expandDice("client", serverNonce, playerContext, 1).get(0), entry.get("clientRoll").asInt());
+
+        mockMvc.perform(
+            get("/rooms/" + roundId + "/entries/me")
+            .with(user(new UserDetailsAdapter(silent)))
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.outcome").value("EXPIRED"));
+
+        jdbcTemplate.update("DELETE FROM game_round_entries");
+        jdbcTemplate.update("DELETE FROM game_rounds");
+    }
+
+    private List<Integer> expandDice(String role, String serverNonce, String clientNonce, int count) throws Exception {
+        List<Integer> dice = new ArrayList<>();
+        for (int counter = 0; dice.size() < count; counter++) {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] block = sha256.digest((role + serverNonce + clientNonce + counter).getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < block.length && dice.size() < count; i++) {
+                int value = block[i] & 0xFF;
+                if (value < 252) {
+                    dice.add(value % 6 + 1);
+                }
+            }
+        }
+        return dice;
+    }
+
+    @Test
+    void cborNegotiationCarriesNoncesAsRawBytes() throws Exception {
+        User user = createUser("cbor@example.com", TEST_PASSWORD);
+        CBORMapper cborMapper = new CBORMapper();
+        MediaType cbor = MediaType.parseMediaType("application/cbor");
+        String clientNonce = "8".repeat(64);
+
+        byte[] initiateBody = cborMapper.writeValueAsBytes(Map.of("clientNonceHash", HexFormat.of().parseHex(sha256Hex(clientNonce))));
+        MvcResult initiateResult = mockMvc.perform(
+            post("/game")
+            .contentType(cbor)
+            .accept(cbor)
+            .content(initiateBody)
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/cbor"))
+        .andReturn();
+
+        JsonNode initiated = cborMapper.readTree(initiateResult.getResponse().getContentAsByteArray());
+        assertTrue(initiated.get("serverNonceHash").isBinary());
+        byte[] serverNonceHash = initiated.get("serverNonceHash").binaryValue();
+        assertEquals(32, serverNonceHash.length);
+
+        byte[] revealBody = cborMapper.writeValueAsBytes(Map.of("clientNonce", HexFormat.of().parseHex(clientNonce)));
+        MvcResult revealResult = mockMvc.perform(
+            post("/game/" + initiated.get("gameId").asLong() + "/reveal")
+            .contentType(cbor)
+            .accept(cbor)
+            .content(revealBody)
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andReturn();
+
+        JsonNode revealed = cborMapper.readTree(revealResult.getResponse().getContentAsByteArray());
+        String serverNonce = HexFormat.of().formatHex(revealed.get("serverNonce").binaryValue());
+        assertEquals(HexFormat.of().formatHex(serverNonceHash), sha256Hex(serverNonce));
+
+        mockMvc.perform(
+            get("/game/history")
+            .with(user(new UserDetailsAdapter(user)))
+        )
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/json"));
+    }
+
+    @Test
+    void erasureSignsOutAndDeletesTheUserAndTheirGames() throws Exception {
+        User user = createUser("erasure@example.com", TEST_PASSWORD);
+        User bystander = createUser("bystander@example.com", TEST_PASSWORD);
+        playGame(user, "1".repeat(64));
+        playGame(user, "2".repeat(64));
+        long bystanderGameId = playGame(bystander, "3".repeat(64));
+
+        roomService.openRoundIfNoneOpen();
+        roomService.join(roomService.getCurrentRound().roundId(), user.getId(), sha256Hex("4".repeat(64)));
+
+        mockMvc.perform(
+            post("/auth/login")
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .param("email", user.getEmail())
+            .param("password", TEST_PASSWORD)
+            .with(csrf())
+        )
+        .andExpect(redirectedUrl("/game"));
+        userSessionRegistry.register(user.getId(), saveSession(sessionRepository));
+        Set<String> sessionIds = redisTemplate.opsForSet().members("casino:user-sessions:" + user.getId());
+        assertEquals(2, sessionIds.size());
+
+        mockMvc.perform(
+            post("/admin/erasures/" + user.getId())
+            .with(user(new UserDetailsAdapter(bystander)))
+            .with(csrf())
+        )
+        .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(
+            post("/admin/erasures/" + user.getId())
+            .with(user(new UserDetailsAdapter(bystander, true)))
+            .with(csrf())
+        )
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.stage").value("SIGN_OUT"));
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(user.getEmail()));
+
+        assertTrue(erasureService.processNext());
+        assertFalse(erasureService.processNext());
+
+        mockMvc.perform(
+            get("/admin/erasures/" + user.getId())
+            .with(user(new UserDetailsAdapter(bystander, true)))
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.stage").value("COMPLETED"))
+        .andExpect(jsonPath("$.gamesErased").value(2))
+        .andExpect(jsonPath("$.completedAt", notNullValue()));
+
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+        assertTrue(userStatsRepository.findById(user.getId()).isEmpty());
+        sessionIds.forEach(sessionId -> assertNull(sessionRepository.findById(sessionId)));
+        assertFalse(redisTemplate.hasKey("casino:user-sessions:" + user.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM games WHERE user_id = ?", Integer.class, user.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM game_round_entries WHERE user_id = ?", Integer.class, user.getId()));
+        assertTrue(gameRepository.findById(bystanderGameId).isPresent());
+
+        outboxRelay.relay();
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range("casino:game-events", Range.unbounded());
+        assertTrue(records.stream().anyMatch(record ->
+            "UserErased".equals(record.getValue().get("type"))
+                && String.valueOf(user.getId()).equals(record.getValue().get("aggregateId"))));
+
+        mockMvc.perform(
+            post("/admin/erasures/" + Long.MAX_VALUE)
+            .with(user(new UserDetailsAdapter(bystander, true)))
+            .with(csrf())
+        )
+        .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void completedGamesReachConnectedFeedClients() throws Exception {
+        User watcher = createUser("watcher@example.com", TEST_PASSWORD);
+        User player = createUser("feed@example.com", TEST_PASSWORD);
+
+        MvcResult feed = mockMvc.perform(
+            get("/feed/results")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .with(user(new UserDetailsAdapter(watcher)))
+        )
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+        long gameId = playGame(player, "5".repeat(64));
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String events = feed.getResponse().getContentAsString();
+        while (!events.contains("\"gameId\":" + gameId) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            events = feed.getResponse().getContentAsString();
+        }
+        assertTrue(events.contains("id:" + gameId + "\n"));
+        assertTrue(events.contains("event:result"));
+        assertTrue(events.contains("\"gameId\":" + gameId));
+        assertFalse(events.contains("userId"));
+    }
+
+    @Test
+    void initiateAndRevealAreRecordedOnceTheirTransactionsCommit() throws Exception {
+        User user = createUser("jfr@example.com", TEST_PASSWORD);
+
+        flightRecorderService.start();
+        long gameId;
+        try {
+            gameId = playGame(user, "6".repeat(64));
+        } finally {
+            flightRecorderService.stop();
+        }
+
+        Path file = flightRecorderService.dump();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            RecordedEvent initiate = events.stream()
+                .filter(event -> event.getEventType().getName().equals("gr.aueb.casino.GameInitiate"))
+                .filter(event -> event.getLong("gameId") == gameId)
+                .findFirst()
+                .orElseThrow();
+            assertEquals(user.getId(), initiate.getLong("userId"));
+            assertFalse(initiate.getBoolean("preIssued"));
+
+            RecordedEvent reveal = events.stream()
+                .filter(event -> event.getEventType().getName().equals("gr.aueb.casino.GameReveal"))
+                .filter(event -> event.getLong("gameId") == gameId)
+                .findFirst()
+                .orElseThrow();
+            GameOutcome outcome = gameRepository.findById(gameId).orElseThrow().getOutcome();
+            assertEquals(outcome.name(), reveal.getString("outcome"));
+            assertFalse(reveal.getBoolean("replayed"));
+            assertTrue(reveal.getDuration("commitDuration").toNanos() > 0);
+            assertFalse(reveal.getEndTime().isBefore(initiate.getEndTime()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private long playGame(User user, String clientNonce) throws Exception {
+        MvcResult initiateResult = mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonceHash\":\"" + sha256Hex(clientNonce) + "\"}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andReturn();
+
+        long gameId = objectMapper.readTree(initiateResult.getResponse().getContentAsString()).get("gameId").asLong();
+
+        mockMvc.perform(
+            post("/game/" + gameId + "/reveal")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonce\":\"" + clientNonce + "\"}")
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk());
+
+        return gameId;
+    }
+
     private User createUser(String email, String password) {
         User user = new User("Test", "User", email, password);
         return userRepository.save(user);
     }
 
+    private <S extends Session> String saveSession(SessionRepository<S> repository) {
+        S session = repository.createSession();
+        repository.save(session);
+        return session.getId();
+    }
+
     private String sha256Hex(String input) throws Exception {
         MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
         byte[] hashBytes = sha256.digest(input.getBytes(StandardCharsets.UTF_8));
@@ -0,0 +1,43 @@
+package gr.aueb.casino;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import gr.aueb.casino.migration.MigrationRunner;
+
+@Testcontainers
+class MigrationRunnerIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:18"))
+        .withDatabaseName("GDPR")
+        .withUsername("casino")
+        .withPassword("mysecretpassword");
+
+    @Test
+    void migrateRunModeAppliesMigrationsAndExits() {
+        String[] args = {
+            "--spring.datasource.url=" + postgres.getJdbcUrl(),
+            "--spring.datasource.username=" + postgres.getUsername(),
+            "--spring.datasource.password=" + postgres.getPassword()
+        };
+
+        assertEquals(0, MigrationRunner.run(args));
+        assertEquals(0, MigrationRunner.run(args));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        Integer failed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM flyway_schema_history WHERE NOT success", Integer.class);
+        Integer games = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM games", Integer.class);
+
+        assertEquals(0, failed);
+        assertEquals(0, games);
+    }
+}
@@ -0,0 +1,124 @@
+package gr.aueb.casino;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import gr.aueb.casino.datasource.ReplicaRoutingContext;
+
+@ActiveProfiles("test")
+@Testcontainers
+@SpringBootTest
+class ReadReplicaRoutingIntegrationTest {
+    private static final String REPLICA_DATA = "/var/lib/postgresql/replica";
+
+    static Network network = Network.newNetwork();
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(DockerImageName.parse("postgres:18"))
+        .withDatabaseName("GDPR")
+        .withUsername("casino")
+        .withPassword("mysecretpassword")
+        .withNetwork(network)
+        .withNetworkAliases("primary")
+        .withCommand("postgres", "-c", "wal_level=replica", "-c", "max_wal_senders=5", "-c", "hot_standby=on")
+        .withCopyToContainer(
+            Transferable.of("echo 'host replication all all trust' >> \"$PGDATA/pg_hba.conf\"\n"),
+            "/docker-entrypoint-initdb.d/replication.sh"
+        );
+
+    @Container
+    static GenericContainer<?> replica = new GenericContainer<>(DockerImageName.parse("postgres:18"))
+        .dependsOn(primary)
+        .withNetwork(network)
+        .withExposedPorts(5432)
+        .withEnv("PGDATA", REPLICA_DATA)
+        .withCommand("bash", "-c",
+            "until pg_basebackup -h primary -U casino -D " + REPLICA_DATA + " -R -X stream; do sleep 1; done"
+            + " && chown -R postgres:postgres " + REPLICA_DATA
+            + " && chmod 700 " + REPLICA_DATA
+            + " && exec gosu postgres postgres -D " + REPLICA_DATA)
+        .waitingFor(Wait.forLogMessage(".*database system is ready to accept read-only connections.*", 1)
+            .withStartupTimeout(Duration.ofMinutes(2)));
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:8.6"))
+        .withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("casino.datasource.replica-urls",
+            () -> "jdbc:postgresql://" + replica.getHost() + ":" + replica.getFirstMappedPort() + "/GDPR");
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsAreRoutedToReplica() {
+        assertTrue(isInRecovery(true));
+    }
+
+    @Test
+    void readWriteTransactionsStayOnPrimary() {
+        assertFalse(isInRecovery(false));
+    }
+
+    @Test
+    void readsAfterWriteInSameSessionStayOnPrimary() {
+        ReplicaRoutingContext.requirePrimary();
+        assertFalse(isInRecovery(true));
+    }
+
+    @Test
+    void onlyACommittedReadWriteTransactionCountsAsAWrite() {
+        isInRecovery(true);
+        assertFalse(ReplicaRoutingContext.hasCommittedWrite());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> status.setRollbackOnly());
+        assertFalse(ReplicaRoutingContext.hasCommittedWrite());
+
+        isInRecovery(false);
+        assertTrue(ReplicaRoutingContext.hasCommittedWrite());
+    }
+
+    private boolean isInRecovery(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+}
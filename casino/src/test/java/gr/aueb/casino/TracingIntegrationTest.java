@@ -0,0 +1,164 @@
+package gr.aueb.casino;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import gr.aueb.casino.domain.User;
+import gr.aueb.casino.persistence.UserRepository;
+import gr.aueb.casino.security.UserDetailsAdapter;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@Testcontainers
+@SpringBootTest
+@TestPropertySource(properties = {
+    "management.otlp.tracing.export.enabled=false",
+    "casino.tracing.tail-sampling.latency-threshold-ms=0"
+})
+class TracingIntegrationTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        public InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        spanExporter.reset();
+        jdbcTemplate.update("DELETE FROM games");
+        jdbcTemplate.update("DELETE FROM user_stats");
+        userRepository.deleteAll();
+    }
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:18"))
+        .withDatabaseName("GDPR")
+        .withUsername("casino")
+        .withPassword("mysecretpassword");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:8.6"))
+        .withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+    }
+
+    @Test
+    void revealIsTracedFromTheServletDownToJdbcAndRedis() throws Exception {
+        User user = userRepository.save(new User("Test", "User", "traced@example.com", "password"));
+        String clientNonce = "a".repeat(64);
+        MockHttpSession session = new MockHttpSession();
+
+        MvcResult initiateResult = mockMvc.perform(
+            post("/game")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonceHash\":\"" + sha256Hex(clientNonce) + "\"}")
+            .session(session)
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk())
+        .andReturn();
+        long gameId = objectMapper.readTree(initiateResult.getResponse().getContentAsString()).get("gameId").asLong();
+
+        mockMvc.perform(
+            post("/game/" + gameId + "/reveal")
+            .param("next", "true")
+            .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"clientNonce\":\"" + clientNonce + "\"}")
+            .session(session)
+            .with(user(new UserDetailsAdapter(user)))
+            .with(csrf())
+        )
+        .andExpect(status().isOk());
+
+        assertTrue(tracerProvider.forceFlush().join(10, TimeUnit.SECONDS).isSuccess());
+        List<SpanData> trace = spanExporter.getFinishedSpanItems().stream()
+            .filter(span -> span.getTraceId().equals(TRACE_ID))
+            .toList();
+
+        SpanData server = trace.stream().filter(span -> span.getKind() == SpanKind.SERVER).findFirst().orElseThrow();
+        assertEquals("00f067aa0ba902b7", server.getParentSpanId());
+        assertTrue(trace.stream().anyMatch(span ->
+            "revealNonces".equals(span.getAttributes().get(AttributeKey.stringKey("method")))));
+        assertTrue(trace.stream().anyMatch(span -> span.getName().startsWith("jdbc update")
+            && span.getAttributes().get(AttributeKey.stringKey("db.statement")).contains("update games")));
+        assertTrue(trace.stream().anyMatch(span ->
+            "redis".equals(span.getAttributes().get(AttributeKey.stringKey("db.system")))));
+    }
+
+    private String sha256Hex(String input) throws Exception {
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(sha256.digest(input.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,77 @@
+package gr.aueb.casino.benchmark;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import gr.aueb.casino.api.schemas.request.RevealRequest;
+import gr.aueb.casino.api.schemas.response.PreIssuedGameResponse;
+import gr.aueb.casino.api.schemas.response.RevealResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameCodecBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private RevealRequest request;
+    private RevealResponse response;
+    private byte[] encodedRequest;
+    private byte[] encodedResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "cbor".equals(format)
+            ? Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()
+            : Jackson2ObjectMapperBuilder.json().build();
+        request = new RevealRequest("3f".repeat(32), "a9".repeat(32));
+        response = new RevealResponse("CLIENT_WIN", (short) 2, (short) 5, "7c".repeat(32), null, null)
+            .withNextGame(new PreIssuedGameResponse(123_456L, "e1".repeat(32), 1, ZonedDateTime.now(ZoneOffset.UTC)));
+        encodedRequest = mapper.writeValueAsBytes(request);
+        encodedResponse = mapper.writeValueAsBytes(response);
+        System.out.printf("%n%s payload bytes: RevealRequest=%d, RevealResponse=%d%n", format, encodedRequest.length, encodedResponse.length);
+    }
+
+    @Benchmark
+    public RevealRequest readRevealRequest() throws IOException {
+        return mapper.readValue(encodedRequest, RevealRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeRevealResponse() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(GameCodecBenchmark.class.getSimpleName())
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,68 @@
+package gr.aueb.casino.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import gr.aueb.casino.ratelimit.LocalRateLimiter;
+import gr.aueb.casino.ratelimit.RateLimitDecision;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalRateLimiterBenchmark {
+    private static final int USERS = 100_000;
+
+    private LocalRateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new LocalRateLimiter(5, 20);
+    }
+
+    @Benchmark
+    public RateLimitDecision singleUser() {
+        return rateLimiter.tryAcquire(1L);
+    }
+
+    @Benchmark
+    public RateLimitDecision manyUsers() {
+        return rateLimiter.tryAcquire(ThreadLocalRandom.current().nextLong(USERS));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public RateLimitDecision manyUsersContended() {
+        return rateLimiter.tryAcquire(ThreadLocalRandom.current().nextLong(USERS));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public RateLimitDecision sameUserContended() {
+        return rateLimiter.tryAcquire(1L);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(LocalRateLimiterBenchmark.class.getSimpleName())
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,129 @@
+package gr.aueb.casino.feed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FeedSubscriberTest {
+    private final Counter dropped = new SimpleMeterRegistry().counter("feed.frames.dropped");
+    private final RecordingEmitter emitter = new RecordingEmitter();
+
+    @Test
+    void onlyTheFirstOfferWhileIdleAsksForADrain() {
+        FeedSubscriber subscriber = new FeedSubscriber(emitter, 4, dropped);
+        List<Set<DataWithMediaType>> frames = frames(3);
+
+        assertTrue(subscriber.offer(frames.get(0)));
+        assertFalse(subscriber.offer(frames.get(1)));
+        subscriber.drain();
+        assertEquals(frames.subList(0, 2), emitter.sent);
+
+        assertTrue(subscriber.offer(frames.get(2)));
+    }
+
+    @Test
+    void aFullMailboxDropsTheOldestFrames() {
+        FeedSubscriber subscriber = new FeedSubscriber(emitter, 2, dropped);
+        List<Set<DataWithMediaType>> frames = frames(5);
+        frames.forEach(subscriber::offer);
+
+        subscriber.drain();
+
+        assertEquals(frames.subList(3, 5), emitter.sent);
+        assertEquals(3, dropped.count());
+    }
+
+    @Test
+    void aFailedSendClosesTheSubscriber() {
+        FeedSubscriber subscriber = new FeedSubscriber(emitter, 4, dropped);
+        List<Set<DataWithMediaType>> frames = frames(3);
+        emitter.broken = true;
+        subscriber.offer(frames.get(0));
+        subscriber.offer(frames.get(1));
+
+        subscriber.drain();
+
+        assertEquals(1, emitter.attempts);
+        assertFalse(subscriber.offer(frames.get(2)));
+    }
+
+    @Test
+    void aSendBlockedPastTheTimeoutEvictsTheSubscriber() throws Exception {
+        BlockingEmitter blocking = new BlockingEmitter();
+        FeedSubscriber subscriber = new FeedSubscriber(blocking, 4, dropped);
+        List<Set<DataWithMediaType>> frames = frames(3);
+        long timeout = TimeUnit.SECONDS.toNanos(5);
+        assertFalse(subscriber.evictIfStalled(System.nanoTime() + 2 * timeout, timeout));
+
+        subscriber.offer(frames.get(0));
+        subscriber.offer(frames.get(1));
+        CompletableFuture<Boolean> drained = CompletableFuture.supplyAsync(subscriber::drain);
+        blocking.entered.await();
+
+        long now = System.nanoTime();
+        assertFalse(subscriber.evictIfStalled(now, timeout));
+        assertTrue(subscriber.evictIfStalled(now + 2 * timeout, timeout));
+        assertFalse(subscriber.evictIfStalled(now + 2 * timeout, timeout));
+        assertFalse(subscriber.offer(frames.get(2)));
+
+        blocking.release.countDown();
+        assertTrue(drained.get(5, TimeUnit.SECONDS));
+        assertEquals(1, blocking.attempts);
+    }
+
+    private static List<Set<DataWithMediaType>> frames(int count) {
+        List<Set<DataWithMediaType>> frames = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            frames.add(SseEmitter.event().id(Integer.toString(id)).name("result").data("{}").build());
+        }
+        return frames;
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<Set<DataWithMediaType>> sent = new ArrayList<>();
+        private boolean broken;
+        private int attempts;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            attempts++;
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(items);
+        }
+    }
+
+    private static final class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile int attempts;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            attempts++;
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+}
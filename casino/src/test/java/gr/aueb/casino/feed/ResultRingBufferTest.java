@@ -0,0 +1,55 @@
+package gr.aueb.casino.feed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ResultRingBufferTest {
+
+    @Test
+    void sinceReturnsTheNewestItemsAfterTheSequenceOldestFirst() {
+        ResultRingBuffer<String> ring = new ResultRingBuffer<>(4);
+        assertTrue(ring.since(0, 10).isEmpty());
+
+        for (String item : List.of("a", "b", "c")) {
+            ring.append(item.charAt(0), item);
+        }
+        assertEquals(3, ring.lastSequence());
+        assertEquals(List.of("a", "b", "c"), ring.since(0, 10));
+        assertEquals(List.of("c"), ring.since(2, 10));
+        assertEquals(List.of("b", "c"), ring.since(0, 2));
+        assertTrue(ring.since(3, 10).isEmpty());
+    }
+
+    @Test
+    void wrappingOverwritesTheOldestItems() {
+        ResultRingBuffer<String> ring = new ResultRingBuffer<>(3);
+        for (String item : List.of("a", "b", "c", "d", "e")) {
+            ring.append(item.charAt(0), item);
+        }
+
+        assertEquals(5, ring.lastSequence());
+        assertEquals(List.of("c", "d", "e"), ring.since(0, 10));
+        assertEquals(List.of("c", "d", "e"), ring.since(1, 10));
+        assertEquals(List.of("e"), ring.since(4, 10));
+    }
+
+    @Test
+    void keysResolveToTheSequenceOfTheNewestHeldItem() {
+        ResultRingBuffer<String> ring = new ResultRingBuffer<>(3);
+        ring.append(41, "a");
+        ring.append(7, "b");
+        ring.append(99, "c");
+        ring.append(12, "d");
+
+        assertEquals(2, ring.sequenceOf(7).getAsLong());
+        assertEquals(4, ring.sequenceOf(12).getAsLong());
+        assertFalse(ring.sequenceOf(41).isPresent());
+        assertFalse(ring.sequenceOf(5).isPresent());
+        assertEquals(List.of("c", "d"), ring.since(ring.sequenceOf(7).getAsLong(), 10));
+    }
+}
@@ -0,0 +1,60 @@
+package gr.aueb.casino.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import gr.aueb.casino.exception.custom.RecordingStateException;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderServiceTest {
+    private final FlightRecorderService service = new FlightRecorderService(60, 16);
+
+    @AfterEach
+    void tearDown() {
+        try {
+            service.stop().close();
+        } catch (RecordingStateException ignored) {
+        }
+    }
+
+    @Test
+    void recordingCapturesCasinoEventsAndCanBeDumped() throws Exception {
+        Recording recording = service.start();
+        assertEquals(RecordingState.RUNNING, recording.getState());
+        assertThrows(RecordingStateException.class, service::start);
+
+        RecordingSessionSerializer serializer = new RecordingSessionSerializer(new JdkSerializationRedisSerializer());
+        assertEquals("attribute", serializer.deserialize(serializer.serialize("attribute")));
+
+        service.stop();
+        Path file = service.dump();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            RecordedEvent deserialize = events.stream()
+                .filter(event -> event.getEventType().getName().equals("gr.aueb.casino.SessionDeserialize"))
+                .findFirst()
+                .orElseThrow();
+            assertEquals(String.class.getName(), deserialize.getString("type"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void stopWithoutRecordingIsRejected() {
+        assertThrows(RecordingStateException.class, service::stop);
+        assertThrows(RecordingStateException.class, service::dump);
+    }
+}
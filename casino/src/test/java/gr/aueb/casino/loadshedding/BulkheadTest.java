@@ -0,0 +1,54 @@
+package gr.aueb.casino.loadshedding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadTest {
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    @Test
+    void fullBulkheadShedsAndCountsRejections() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Bulkhead bulkhead = new Bulkhead("test", ConcurrencyLimit.fixed(2), meterRegistry);
+
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+
+        bulkhead.release(FAST, false);
+        assertTrue(bulkhead.tryAcquire());
+
+        assertEquals(1.0, meterRegistry.get("http.server.concurrency.shed").tag("bulkhead", "test").counter().count());
+        assertEquals(2.0, meterRegistry.get("http.server.concurrency.inflight").tag("bulkhead", "test").gauge().value());
+        assertEquals(2.0, meterRegistry.get("http.server.concurrency.limit").tag("bulkhead", "test").gauge().value());
+    }
+
+    @Test
+    void aimdLimitGrowsUnderHealthyLoadAndBacksOffWhenSlow() {
+        AimdLimit limit = new AimdLimit(10, 4, 12, Duration.ofMillis(250), 0.5);
+
+        limit.onSample(FAST, 1, false);
+        assertEquals(10, limit.current());
+
+        limit.onSample(FAST, 10, false);
+        limit.onSample(FAST, 11, false);
+        limit.onSample(FAST, 12, false);
+        assertEquals(12, limit.current());
+
+        limit.onSample(SLOW, 12, false);
+        assertEquals(6, limit.current());
+
+        limit.onSample(FAST, 6, true);
+        limit.onSample(FAST, 3, true);
+        assertEquals(4, limit.current());
+    }
+}
@@ -0,0 +1,42 @@
+package gr.aueb.casino.loadshedding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import gr.aueb.casino.loadshedding.LoadSheddingFilter.Route;
+
+class LoadSheddingFilterTest {
+
+    @Test
+    void asyncRequestHoldsItsPermitUntilItCompletes() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Bulkhead bulkhead = new Bulkhead("test", ConcurrencyLimit.fixed(1), meterRegistry);
+        LoadSheddingFilter filter = new LoadSheddingFilter(List.of(new Route(null, List.of("/**"), bulkhead)));
+
+        MockHttpServletRequest streamed = new MockHttpServletRequest("GET", "/game/history/export");
+        streamed.setAsyncSupported(true);
+        filter.doFilter(streamed, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/game"), shed, (request, response) -> {});
+        assertEquals(503, shed.getStatus());
+
+        MockAsyncContext asyncContext = (MockAsyncContext) streamed.getAsyncContext();
+        asyncContext.complete();
+        asyncContext.complete();
+        assertEquals(0.0, meterRegistry.get("http.server.concurrency.inflight").tag("bulkhead", "test").gauge().value());
+
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/game"), admitted, (request, response) -> {});
+        assertEquals(200, admitted.getStatus());
+    }
+}
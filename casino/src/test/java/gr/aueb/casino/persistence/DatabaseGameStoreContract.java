@@ -0,0 +1,68 @@
+package gr.aueb.casino.persistence;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import gr.aueb.casino.domain.User;
+
+@ActiveProfiles("test")
+@Testcontainers
+@SpringBootTest
+abstract class DatabaseGameStoreContract extends GameStoreContract {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:18"))
+        .withDatabaseName("GDPR")
+        .withUsername("casino")
+        .withPassword("mysecretpassword");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:8.6"))
+        .withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+    }
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM games");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Override
+    protected GameStore store() {
+        return gameStore;
+    }
+
+    @Override
+    protected Long newUserId() {
+        return userRepository.save(new User("Store", "Contract", UUID.randomUUID() + "@example.com", "password")).getId();
+    }
+}
@@ -0,0 +1,169 @@
+package gr.aueb.casino.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import gr.aueb.casino.domain.GameOutcome;
+import gr.aueb.casino.domain.GameStatus;
+
+abstract class GameStoreContract {
+
+    protected abstract GameStore store();
+
+    protected abstract Long newUserId();
+
+    @Test
+    void createdGameIsInProgressAndCanBeFetched() {
+        Long userId = newUserId();
+        GameRecord created = store().create(userId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64));
+
+        GameRecord fetched = store().findById(created.id()).orElseThrow();
+        assertEquals(userId, fetched.userId());
+        assertEquals(GameStatus.IN_PROGRESS, fetched.status());
+        assertEquals("a".repeat(64), fetched.serverNonce());
+        assertEquals("b".repeat(64), fetched.clientNonceHash());
+        assertEquals("c".repeat(64), fetched.serverNonceHash());
+        assertNull(fetched.outcome());
+        assertNull(fetched.completedAt());
+        assertFalse(fetched.preIssued());
+        assertTrue(store().findById(Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void preIssuedGameIsFlaggedAndHasNoCommittedHash() {
+        Long userId = newUserId();
+        GameRecord created = store().preIssue(userId, (short) 2, "a".repeat(64), "c".repeat(64));
+
+        GameRecord fetched = store().findById(created.id()).orElseThrow();
+        assertTrue(fetched.preIssued());
+        assertEquals(GameStatus.IN_PROGRESS, fetched.status());
+        assertEquals((short) 2, fetched.diceCount());
+        assertNull(fetched.clientNonceHash());
+    }
+
+    @Test
+    void completeIsACompareAndSetFromInProgress() {
+        Long userId = newUserId();
+        GameRecord created = store().preIssue(userId, (short) 3, "a".repeat(64), "c".repeat(64));
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        GameCompletion first = new GameCompletion(GameOutcome.CLIENT_WIN, (short) 5, (short) 12,
+            new byte[] {1, 2, 2}, new byte[] {6, 3, 3}, "d".repeat(64), "e".repeat(64), now, now);
+        GameCompletion second = new GameCompletion(GameOutcome.SERVER_WIN, (short) 6, (short) 1,
+            new byte[] {2, 2, 2}, new byte[] {1, 1, 1}, "f".repeat(64), "e".repeat(64), now, now);
+
+        assertTrue(store().complete(created.id(), first));
+        assertFalse(store().complete(created.id(), second));
+
+        GameRecord stored = store().findById(created.id()).orElseThrow();
+        assertEquals(GameStatus.COMPLETED, stored.status());
+        assertEquals(GameOutcome.CLIENT_WIN, stored.outcome());
+        assertEquals((short) 5, stored.serverRoll());
+        assertEquals((short) 12, stored.clientRoll());
+        assertArrayEquals(new byte[] {1, 2, 2}, stored.serverDice());
+        assertArrayEquals(new byte[] {6, 3, 3}, stored.clientDice());
+        assertEquals("d".repeat(64), stored.clientNonce());
+        assertEquals("e".repeat(64), stored.clientNonceHash());
+        assertEquals(now.toInstant(), stored.completedAt().toInstant());
+        assertTrue(stored.preIssued());
+    }
+
+    @Test
+    void concurrentCompletesHaveExactlyOneWinner() throws Exception {
+        Long userId = newUserId();
+        GameRecord created = store().create(userId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64));
+        ZonedDateTime now = ZonedDateTime.now();
+
+        int contenders = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(contenders);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < contenders; i++) {
+                Callable<Boolean> attempt = () -> {
+                    start.await();
+                    return store().complete(created.id(), new GameCompletion(GameOutcome.TIE, (short) 3, (short) 3,
+                        null, null, "d".repeat(64), "b".repeat(64), now, now));
+                };
+                results.add(executor.submit(attempt));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                winners += result.get() ? 1 : 0;
+            }
+            assertEquals(1, winners);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void completedHistoryIsNewestFirstAndKeysetPaged() {
+        Long userId = newUserId();
+        Long otherUserId = newUserId();
+        ZonedDateTime base = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            GameRecord game = store().create(userId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64));
+            ZonedDateTime completedAt = base.plusSeconds(i);
+            store().complete(game.id(), new GameCompletion(GameOutcome.TIE, (short) 2, (short) 2,
+                null, null, "d".repeat(64), "b".repeat(64), base, completedAt));
+            ids.add(game.id());
+        }
+        store().create(userId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64));
+        GameRecord foreign = store().create(otherUserId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64));
+        store().complete(foreign.id(), new GameCompletion(GameOutcome.TIE, (short) 2, (short) 2,
+            null, null, "d".repeat(64), "b".repeat(64), base, base.plusSeconds(10)));
+
+        List<GameRecord> recent = store().findRecentCompleted(userId, 3);
+        assertEquals(List.of(ids.get(3), ids.get(2), ids.get(1)), recent.stream().map(GameRecord::id).toList());
+
+        GameRecord last = recent.get(recent.size() - 1);
+        List<GameRecord> next = store().findCompletedBefore(userId, last.completedAt(), last.id(), 3);
+        assertEquals(List.of(ids.get(0)), next.stream().map(GameRecord::id).toList());
+    }
+
+    @Test
+    void deleteByUserRemovesOnlyThatUsersGamesInIdOrder() {
+        Long userId = newUserId();
+        Long otherUserId = newUserId();
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(store().create(userId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64)).id());
+        }
+        store().complete(ids.get(1), new GameCompletion(GameOutcome.TIE, (short) 2, (short) 2,
+            null, null, "d".repeat(64), "b".repeat(64), now, now));
+        GameRecord foreign = store().create(otherUserId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64));
+
+        List<Long> first = store().deleteByUser(userId, 0, 3);
+        assertEquals(ids.subList(0, 3), first.stream().sorted().toList());
+
+        List<Long> rest = store().deleteByUser(userId, ids.get(2), 3);
+        assertEquals(ids.subList(3, 5), rest.stream().sorted().toList());
+        assertTrue(store().deleteByUser(userId, 0, 3).isEmpty());
+
+        assertTrue(store().findById(ids.get(0)).isEmpty());
+        assertTrue(store().findRecentCompleted(userId, 10).isEmpty());
+        assertTrue(store().findById(foreign.id()).isPresent());
+    }
+}
@@ -0,0 +1,18 @@
+package gr.aueb.casino.persistence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class InMemoryGameStoreTest extends GameStoreContract {
+    private final InMemoryGameStore store = new InMemoryGameStore();
+    private final AtomicLong userIds = new AtomicLong();
+
+    @Override
+    protected GameStore store() {
+        return store;
+    }
+
+    @Override
+    protected Long newUserId() {
+        return userIds.incrementAndGet();
+    }
+}
@@ -0,0 +1,15 @@
+package gr.aueb.casino.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "casino.game-store=jdbc")
+class JdbcGameStoreIntegrationTest extends DatabaseGameStoreContract {
+
+    @Test
+    void selectedStoreIsJdbc() {
+        assertInstanceOf(JdbcGameStore.class, store());
+    }
+}
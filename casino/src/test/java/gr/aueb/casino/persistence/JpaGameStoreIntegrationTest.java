@@ -0,0 +1,15 @@
+package gr.aueb.casino.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "casino.game-store=jpa")
+class JpaGameStoreIntegrationTest extends DatabaseGameStoreContract {
+
+    @Test
+    void selectedStoreIsJpa() {
+        assertInstanceOf(JpaGameStore.class, store());
+    }
+}
@@ -0,0 +1,229 @@
+package gr.aueb.casino.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+import gr.aueb.casino.domain.GameOutcome;
+import gr.aueb.casino.domain.GameStatus;
+import gr.aueb.casino.job.GameRollupRebuildJob;
+import gr.aueb.casino.job.UserStatsBackfillJob;
+import gr.aueb.casino.service.GameHistoryExportService;
+import gr.aueb.casino.service.GameService;
+import gr.aueb.casino.sharding.GameIds;
+import gr.aueb.casino.sharding.Resharder;
+import gr.aueb.casino.sharding.ShardRouter;
+
+@TestPropertySource(properties = "casino.game-store=sharded")
+class ShardedGameStoreIntegrationTest extends DatabaseGameStoreContract {
+
+    @Container
+    static PostgreSQLContainer<?> shard0 = shardContainer();
+
+    @Container
+    static PostgreSQLContainer<?> shard1 = shardContainer();
+
+    @Container
+    static PostgreSQLContainer<?> shard2 = shardContainer();
+
+    @DynamicPropertySource
+    static void shardProperties(DynamicPropertyRegistry registry) {
+        registry.add("casino.sharding.shard-urls", () -> String.join(",", shard0.getJdbcUrl(), shard1.getJdbcUrl(), shard2.getJdbcUrl()));
+    }
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameHistoryExportService gameHistoryExportService;
+
+    @AfterEach
+    void clearRecordedCompletions() {
+        jdbcTemplate.update("DELETE FROM recorded_game_completions");
+        jdbcTemplate.update("DELETE FROM user_stats");
+    }
+
+    @Test
+    void selectedStoreIsSharded() {
+        assertInstanceOf(ShardedGameStore.class, store());
+    }
+
+    @Test
+    void gamesLiveOnTheirUsersShardAndCarryItInTheirId() {
+        for (int i = 0; i < 20; i++) {
+            Long userId = newUserId();
+            GameRecord game = store().create(userId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64));
+
+            int shardId = shardRouter.shardForUser(userId);
+            assertEquals(shardId, GameIds.shardOf(game.id()));
+            assertEquals(1, shardJdbc(shardId).queryForObject("SELECT COUNT(*) FROM games WHERE id = ?", Integer.class, game.id()));
+        }
+    }
+
+    @Test
+    void reshardingMovesGamesOntoAJoiningShardWithoutLosingHistory() throws Exception {
+        jdbcTemplate.update("UPDATE game_shards SET state = 'JOINING' WHERE id = 2");
+        shardRouter.refresh();
+
+        Map<Long, List<Long>> historyBefore = new HashMap<>();
+        List<Long> inProgress = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Long userId = newUserId();
+            for (int j = 0; j < 3; j++) {
+                GameRecord game = store().create(userId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64));
+                ZonedDateTime now = ZonedDateTime.now();
+                store().complete(game.id(), new GameCompletion(GameOutcome.TIE, (short) 2, (short) 2,
+                    null, null, "d".repeat(64), "b".repeat(64), now, now.plusSeconds(j)));
+            }
+            inProgress.add(store().create(userId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64)).id());
+            historyBefore.put(userId, store().findRecentCompleted(userId, 10).stream().map(GameRecord::id).toList());
+        }
+
+        List<JdbcTemplate> shards = List.of(shardJdbc(0), shardJdbc(1), shardJdbc(2));
+        long moved = new Resharder(jdbcTemplate, shards, 128, 7, Duration.ZERO).run();
+        shardRouter.refresh();
+
+        assertTrue(moved > 0);
+        for (Map.Entry<Long, List<Long>> user : historyBefore.entrySet()) {
+            int owner = shardRouter.shardForUser(user.getKey());
+            assertEquals(user.getValue(), store().findRecentCompleted(user.getKey(), 10).stream().map(GameRecord::id).toList());
+            for (int shardId = 0; shardId < shards.size(); shardId++) {
+                int games = shards.get(shardId).queryForObject("SELECT COUNT(*) FROM games WHERE user_id = ?", Integer.class, user.getKey());
+                assertEquals(shardId == owner ? 4 : 0, games);
+            }
+        }
+
+        ZonedDateTime now = ZonedDateTime.now();
+        for (Long gameId : inProgress) {
+            assertTrue(store().complete(gameId, new GameCompletion(GameOutcome.SERVER_WIN, (short) 5, (short) 1,
+                null, null, "d".repeat(64), "b".repeat(64), now, now)));
+            assertEquals(GameStatus.COMPLETED, store().findById(gameId).orElseThrow().status());
+        }
+    }
+
+    @Test
+    void aLostCompareAndSetOnTheHomeShardDoesNotCompleteAStaleCopy() {
+        jdbcTemplate.update("UPDATE game_shards SET state = 'JOINING' WHERE id = 2");
+        shardRouter.refresh();
+        List<GameRecord> games = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            games.add(store().create(newUserId(), (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64)));
+        }
+        jdbcTemplate.update("UPDATE game_shards SET state = 'ACTIVE' WHERE id = 2");
+        shardRouter.refresh();
+
+        GameRecord moving = games.stream()
+            .filter(game -> shardRouter.shardForUser(game.userId()) == 2)
+            .findFirst()
+            .orElseThrow();
+        shardJdbc(2).update("""
+            INSERT INTO games (id, user_id, status_id, dice_count, r_a, client_nonce_hash, server_nonce_hash, initiated_at)
+            VALUES (?, ?, ?, 1, ?, ?, ?, now())
+            """, moving.id(), moving.userId(), GameStatus.IN_PROGRESS.getId(), "a".repeat(64), "b".repeat(64), "c".repeat(64));
+
+        ZonedDateTime now = ZonedDateTime.now();
+        GameCompletion completion = new GameCompletion(GameOutcome.TIE, (short) 2, (short) 2,
+            null, null, "d".repeat(64), "b".repeat(64), now, now);
+        assertTrue(store().complete(moving.id(), completion));
+        assertFalse(store().complete(moving.id(), completion));
+        assertEquals(GameStatus.IN_PROGRESS.getId(),
+            shardJdbc(2).queryForObject("SELECT status_id FROM games WHERE id = ?", Short.class, moving.id()));
+    }
+
+    @Test
+    void aReplayRecordsACompletionWhoseRevealRolledBack() {
+        Long userId = newUserId();
+        GameRecord game = store().create(userId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64));
+        ZonedDateTime now = ZonedDateTime.now();
+        // Completed on the shard with nothing recorded on the primary, as after a rolled back reveal
+        assertTrue(store().complete(game.id(), new GameCompletion(GameOutcome.TIE, (short) 2, (short) 2,
+            null, null, "d".repeat(64), "b".repeat(64), now, now)));
+
+        assertTrue(gameService.revealNonces(game.id(), "d".repeat(64), null, userId, false).replayed());
+        gameService.revealNonces(game.id(), "d".repeat(64), null, userId, false);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT ties FROM user_stats WHERE user_id = ?", Long.class, userId));
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM recorded_game_completions WHERE game_id = ?", Integer.class, game.id()));
+    }
+
+    @Test
+    void aCompletedRevealIsRecordedOnce() throws Exception {
+        Long userId = newUserId();
+        String clientNonce = "d".repeat(64);
+        String clientNonceHash = HexFormat.of().formatHex(
+            MessageDigest.getInstance("SHA-256").digest(clientNonce.getBytes(StandardCharsets.UTF_8)));
+        GameRecord game = store().create(userId, (short) 1, "a".repeat(64), clientNonceHash, "c".repeat(64));
+
+        assertFalse(gameService.revealNonces(game.id(), clientNonce, null, userId, false).replayed());
+        assertTrue(gameService.revealNonces(game.id(), clientNonce, null, userId, false).replayed());
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT wins + losses + ties + expired FROM user_stats WHERE user_id = ?", Long.class, userId));
+    }
+
+    @Test
+    void historyExportReadsTheUsersShard() throws Exception {
+        Long userId = newUserId();
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int i = 0; i < 2; i++) {
+            GameRecord game = store().create(userId, (short) 1, "a".repeat(64), "b".repeat(64), "c".repeat(64));
+            store().complete(game.id(), new GameCompletion(GameOutcome.TIE, (short) 2, (short) 2,
+                null, null, "d".repeat(64), "b".repeat(64), now, now.plusSeconds(i)));
+        }
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        gameHistoryExportService.exportCsv(userId, csv);
+        assertEquals(3, csv.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void jobsReadingThePrimaryGamesTableRefuseToStart() {
+        assertThrows(IllegalStateException.class, () -> new UserStatsBackfillJob(jdbcTemplate, null, 1, 1, "sharded"));
+        assertThrows(IllegalStateException.class, () -> new GameRollupRebuildJob(null, LocalDate.now(), LocalDate.now(), "sharded"));
+    }
+
+    private static JdbcTemplate shardJdbc(int shardId) {
+        PostgreSQLContainer<?> shard = List.of(shard0, shard1, shard2).get(shardId);
+        return new JdbcTemplate(new DriverManagerDataSource(shard.getJdbcUrl(), shard.getUsername(), shard.getPassword()));
+    }
+
+    private static PostgreSQLContainer<?> shardContainer() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:18"))
+            .withDatabaseName("games")
+            .withUsername("casino")
+            .withPassword("mysecretpassword");
+    }
+}
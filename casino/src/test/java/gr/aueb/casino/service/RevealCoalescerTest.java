@@ -0,0 +1,134 @@
+package gr.aueb.casino.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import gr.aueb.casino.api.schemas.response.RevealResponse;
+import gr.aueb.casino.exception.custom.InvalidNonceException;
+
+class RevealCoalescerTest {
+    private static final String NONCE = "a".repeat(64);
+    private static final RevealResponse RESPONSE = new RevealResponse("TIE", (short) 3, (short) 3, "b".repeat(64), null, null);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RevealCoalescer coalescer = new RevealCoalescer(meterRegistry, 8);
+
+    @Test
+    void concurrentIdenticalRevealsShareOneExecution() throws Exception {
+        int callers = 8;
+        AtomicInteger executions = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        AtomicReferenceArray<RevealResponse> responses = new AtomicReferenceArray<>(callers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int i = 0; i < callers; i++) {
+            int caller = i;
+            threads.add(new Thread(() -> {
+                awaitQuietly(start);
+                responses.set(caller, coalescer.reveal(1L, 7L, NONCE, null, () -> {
+                    executions.incrementAndGet();
+                    awaitOthersWaiting(threads);
+                    return RESPONSE;
+                }));
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, executions.get());
+        for (int i = 0; i < callers; i++) {
+            assertSame(RESPONSE, responses.get(i));
+        }
+        assertEquals(callers - 1, meterRegistry.get("game.reveal.coalesced").counter().count());
+
+        coalescer.reveal(1L, 7L, NONCE, null, () -> {
+            executions.incrementAndGet();
+            return RESPONSE;
+        });
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void revealWithDifferentInputsDoesNotJoin() throws Exception {
+        CountDownLatch leaderRunning = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        Thread leader = new Thread(() -> coalescer.reveal(1L, 7L, NONCE, null, () -> {
+            leaderRunning.countDown();
+            awaitQuietly(releaseLeader);
+            return RESPONSE;
+        }));
+        leader.start();
+        leaderRunning.await();
+
+        RevealResponse other = new RevealResponse("SERVER_WIN", (short) 6, (short) 1, "b".repeat(64), null, null);
+        assertSame(other, coalescer.reveal(1L, 7L, "c".repeat(64), null, () -> other));
+        assertSame(other, coalescer.reveal(1L, 8L, NONCE, null, () -> other));
+
+        releaseLeader.countDown();
+        leader.join();
+        assertEquals(0, meterRegistry.get("game.reveal.coalesced").counter().count());
+    }
+
+    @Test
+    void failureReachesJoinersAndClearsTheFlight() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                awaitQuietly(start);
+                try {
+                    coalescer.reveal(1L, 7L, NONCE, null, () -> {
+                        awaitOthersWaiting(threads);
+                        throw new InvalidNonceException("Client nonce does not match the committed hash.");
+                    });
+                } catch (InvalidNonceException e) {
+                    failures.incrementAndGet();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(4, failures.get());
+        assertThrows(IllegalStateException.class, () -> coalescer.reveal(1L, 7L, NONCE, null, () -> {
+            throw new IllegalStateException("runs again");
+        }));
+    }
+
+    // Joiners park in a timed wait on the leader's response; callers still at the start latch wait untimed
+    private static void awaitOthersWaiting(List<Thread> threads) {
+        for (Thread thread : threads) {
+            while (thread != Thread.currentThread() && thread.getState() != Thread.State.TIMED_WAITING) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package gr.aueb.casino.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+    private static final int USERS = 100_000;
+
+    @Test
+    void usersAreSpreadEvenlyAcrossShards() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(0, 1, 2, 3), 128);
+
+        int[] perShard = new int[4];
+        for (long userId = 1; userId <= USERS; userId++) {
+            perShard[ring.shardFor(userId)]++;
+        }
+
+        for (int count : perShard) {
+            assertTrue(Math.abs(count - USERS / 4) < USERS / 4 * 0.15, "shard holds " + count + " users");
+        }
+    }
+
+    @Test
+    void addingAShardOnlyMovesUsersOntoIt() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of(0, 1, 2), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(0, 1, 2, 3), 128);
+
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            int from = before.shardFor(userId);
+            int to = after.shardFor(userId);
+            if (from != to) {
+                assertEquals(3, to);
+                moved++;
+            }
+        }
+        assertTrue(Math.abs(moved - USERS / 4) < USERS / 4 * 0.15, moved + " users moved");
+    }
+
+    @Test
+    void gameIdsCarryTheirShard() {
+        long gameId = GameIds.encode(123_456_789L, 7);
+
+        assertEquals(7, GameIds.shardOf(gameId));
+        assertEquals(123_456_789L, gameId >>> GameIds.SHARD_BITS);
+    }
+}
@@ -0,0 +1,93 @@
+package gr.aueb.casino.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+class TailSamplingSpanExporterTest {
+    private final InMemorySpanExporter exported = InMemorySpanExporter.create();
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void fastTraceWithoutErrorsIsDropped() {
+        Tracer tracer = tracer(100);
+
+        Span root = tracer.spanBuilder("GET /game/history").startSpan();
+        tracer.spanBuilder("jdbc select").setParent(Context.current().with(root)).startSpan().end();
+        root.end();
+
+        assertTrue(exported.getFinishedSpanItems().isEmpty());
+    }
+
+    @Test
+    void traceWithAnErrorIsKeptWhole() {
+        Tracer tracer = tracer(100);
+
+        Span root = tracer.spanBuilder("POST /game/{gameId}/reveal").startSpan();
+        Span child = tracer.spanBuilder("jdbc update").setParent(Context.current().with(root)).startSpan();
+        child.setStatus(StatusCode.ERROR);
+        child.end();
+        root.end();
+
+        assertEquals(List.of("jdbc update", "POST /game/{gameId}/reveal"), exportedNames());
+    }
+
+    @Test
+    void slowTraceIsKeptWhole() {
+        Tracer tracer = tracer(100);
+        Instant start = Instant.now();
+
+        Span root = tracer.spanBuilder("POST /game").setStartTimestamp(start).startSpan();
+        tracer.spanBuilder("redis hset").setParent(Context.current().with(root)).startSpan().end();
+        root.end(start.plusMillis(250));
+
+        assertEquals(List.of("redis hset", "POST /game"), exportedNames());
+    }
+
+    @Test
+    void rootlessTracesAreDecidedWhenEvicted() {
+        Tracer tracer = tracer(1);
+
+        Span remoteRoot = tracer.spanBuilder("upstream").startSpan();
+        Span failed = tracer.spanBuilder("jdbc insert").setParent(Context.current().with(remoteRoot)).startSpan();
+        failed.setStatus(StatusCode.ERROR);
+        failed.end();
+        Span otherRoot = tracer.spanBuilder("upstream").startSpan();
+        tracer.spanBuilder("jdbc select").setParent(Context.current().with(otherRoot)).startSpan().end();
+
+        assertEquals(List.of("jdbc insert"), exportedNames());
+    }
+
+    private Tracer tracer(int maxPendingTraces) {
+        TailSamplingSpanExporter sampler = new TailSamplingSpanExporter(
+            List.of(exported), Duration.ofMillis(200), 0.0, Duration.ofSeconds(30), maxPendingTraces);
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(sampler))
+            .build();
+        return tracerProvider.get("test");
+    }
+
+    private List<String> exportedNames() {
+        return exported.getFinishedSpanItems().stream().map(SpanData::getName).toList();
+    }
+}